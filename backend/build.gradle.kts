@@ -1,5 +1,6 @@
 import com.github.spotbugs.SpotBugsTask
 import info.solidsoft.gradle.pitest.PitestPluginExtension
+import me.champeau.gradle.JMHPluginExtension
 
 plugins {
     java
@@ -9,6 +10,7 @@ plugins {
 
     id("com.github.spotbugs") version "2.0.0"
     id("info.solidsoft.pitest") version "1.4.5"
+    id("me.champeau.gradle.jmh") version "0.5.0"
 }
 
 apply(from = "../gradle/integrationTest.gradle.kts")
@@ -48,12 +50,16 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.github.ben-manes.caffeine:jcache")
+    implementation("org.hibernate:hibernate-jcache")
     implementation("org.springframework.boot:spring-boot-starter-hateoas")
     implementation("org.springframework.boot:spring-boot-starter-oauth2-client")
     implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.cloud:spring-cloud-starter-oauth2")
     implementation("org.flywaydb:flyway-core")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     compileOnly("org.projectlombok:lombok")
     runtimeOnly("org.postgresql:postgresql")
     runtimeOnly("com.h2database:h2")
@@ -61,6 +67,7 @@ dependencies {
     annotationProcessor ("org.projectlombok:lombok")
     testImplementation ("org.springframework.boot:spring-boot-starter-test")
     testImplementation ("org.springframework.restdocs:spring-restdocs-mockmvc")
+    jmh ("org.springframework.boot:spring-boot-starter-test")
 }
 
 tasks.test {
@@ -93,4 +100,17 @@ configure<PitestPluginExtension> {
 }
 
 
+configure<JMHPluginExtension> {
+    jmhVersion = "1.23"
+    fork = 1
+    warmupIterations = 3
+    warmup = "1s"
+    iterations = 5
+    timeOnIteration = "1s"
+    resultFormat = "JSON"
+    // JSON results of two runs can be compared to find regressions
+    resultsFile = file("build/reports/jmh/results.json")
+}
+
+
 tasks.named("check") { dependsOn(tasks["pitest"]) }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package hr.vgsoft.primer.configuration;
+
+import hr.vgsoft.primer.item.ItemRepository;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.assertj.core.api.Assertions;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@SpringBootTest(properties = "custom.async.enabled=true")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class AsyncExecutionSpecification {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Autowired
+  private JwtAccessTokenConverter accessTokenConverter;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  private final List<String> itemRepositoryThreads = new CopyOnWriteArrayList<>();
+
+  private final MethodInterceptor itemRepositoryThreadRecorder = invocation -> {
+    itemRepositoryThreads.add(Thread.currentThread().getName());
+    return invocation.proceed();
+  };
+
+  @BeforeEach
+  void setup() {
+    ((Advised) itemRepository).addAdvice(0, itemRepositoryThreadRecorder);
+  }
+
+  @AfterEach
+  void cleanup() {
+    ((Advised) itemRepository).removeAdvice(itemRepositoryThreadRecorder);
+  }
+
+  @Test
+  void shouldRunItemHandlerOnAsyncExecutor() throws Exception {
+    final MvcResult result = mvc.perform(MockMvcRequestBuilders.get("/api/items?after=")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken()))
+            .andExpect(MockMvcResultMatchers.request().asyncStarted())
+            .andReturn();
+
+    mvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$._links.self.href")
+                    .value(Matchers.startsWith("http://localhost/api/items")));
+
+    Assertions.assertThat(itemRepositoryThreads)
+            .isNotEmpty()
+            .allMatch(it -> it.startsWith("async-handler-"));
+  }
+
+  @Test
+  void shouldHandleErrorOfAsyncHandlerSameAsSynchronous() throws Exception {
+    final MvcResult result = mvc.perform(
+            MockMvcRequestBuilders.get("/api/items?after=invalid")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken()))
+            .andExpect(MockMvcResultMatchers.request().asyncStarted())
+            .andReturn();
+
+    mvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  void shouldKeepOtherControllersSynchronous() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/.well-known/jwks.json"))
+            .andExpect(MockMvcResultMatchers.request().asyncNotStarted())
+            .andExpect(MockMvcResultMatchers.status().isOk());
+  }
+
+  private String accessToken() {
+    final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    final OAuth2Request request = new OAuth2Request(
+            Map.of(), "application-client", authorities, true, Set.of("read"),
+            Set.of(), null, Set.of(), Map.of());
+    final DefaultOAuth2AccessToken token =
+            new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+    token.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5)));
+
+    return accessTokenConverter.enhance(token, new OAuth2Authentication(request,
+            new UsernamePasswordAuthenticationToken("una@test.com", "N/A", authorities)))
+            .getValue();
+  }
+}
@@ -0,0 +1,47 @@
+package hr.vgsoft.primer.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hr.vgsoft.primer.item.Item;
+import hr.vgsoft.primer.item.ItemRepository;
+import hr.vgsoft.primer.item.ItemService;
+import hr.vgsoft.primer.item.NewItemModel;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Replica is the same in-memory database as primary, so it is never behind and only routing is
+ * checked.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicated;DB_CLOSE_DELAY=-1",
+        "custom.datasource.replica.url=jdbc:h2:mem:replicated;DB_CLOSE_DELAY=-1",
+        "custom.datasource.replica.username=sa",
+        "custom.datasource.replica.max-lag=0s"})
+class ReplicaDataSourceSpecification {
+
+  @Autowired
+  private ItemService itemService;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Autowired
+  @Qualifier("replicaDataSource")
+  private HikariDataSource replicaDataSource;
+
+  @Test
+  void shouldReadItemsTroughReplicaPool() {
+    final long before = itemRepository.count();
+    final Item item = itemService.newItem(new NewItemModel("Replicated", "Replicated item"));
+
+    Assertions.assertThat(itemRepository.count()).isEqualTo(before + 1);
+    Assertions.assertThat(replicaDataSource.getHikariPoolMXBean().getTotalConnections())
+            .isPositive();
+
+    itemService.deleteItem(item.getUuid());
+  }
+}
@@ -0,0 +1,72 @@
+package hr.vgsoft.primer.configuration;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+/**
+ * Uses frontend build from {@code src/integrationTest/resources/public}, index.html references
+ * elm.js by md5 of its content.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class StaticResourcesSpecification {
+
+  private static final String HASHED_ELM_JS = "/elm-b8213025a1d896fc9dec88a78b4706ec.js";
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Test
+  void shouldServeCompressedHashedAssetWithImmutableCacheHeaders() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get(HASHED_ELM_JS)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, "Accept-Encoding"))
+            .andExpect(MockMvcResultMatchers.header()
+                    .string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+  }
+
+  @Test
+  void shouldServeUncompressedAssetToClientWithoutCompression() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get(HASHED_ELM_JS))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(MockMvcResultMatchers.content().string("var Elm = {};\n"));
+  }
+
+  @Test
+  void shouldServeIndexHtmlWithShortCacheHeaders() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/index.html"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.content().string(
+                    Matchers.containsString(HASHED_ELM_JS.substring(1))))
+            .andExpect(MockMvcResultMatchers.header()
+                    .string(HttpHeaders.CACHE_CONTROL, "max-age=60, must-revalidate"));
+  }
+
+  @Test
+  void shouldServeIndexHtmlForClientSideRoute() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/items/42"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.content().string(
+                    Matchers.containsString(HASHED_ELM_JS.substring(1))))
+            .andExpect(MockMvcResultMatchers.header()
+                    .string(HttpHeaders.CACHE_CONTROL, "max-age=60, must-revalidate"));
+  }
+
+  @Test
+  void shouldNotFindAssetWithOutdatedVersion() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/elm-00000000000000000000000000000000.js"))
+            .andExpect(MockMvcResultMatchers.status().isNotFound());
+  }
+}
@@ -0,0 +1,100 @@
+package hr.vgsoft.primer.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+/**
+ * Client edits item the way browser does: reads it, then updates it with ETag of what it read.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class ItemConditionalUpdateSpecification {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private JwtAccessTokenConverter accessTokenConverter;
+
+  @Autowired
+  private ItemService itemService;
+
+  private String authorization;
+  private Item item;
+
+  @BeforeEach
+  void setup() {
+    authorization = "Bearer " + accessToken();
+    item = itemService.newItem(new NewItemModel("Edited", "Edited item"));
+  }
+
+  @AfterEach
+  void cleanup() {
+    itemService.deleteItem(item.getUuid());
+  }
+
+  @Test
+  void shouldUpdateTwiceWithEtagFromFreshRead() throws Exception {
+    for (int i = 1; i <= 2; i++) {
+      final String etag = mvc.perform(MockMvcRequestBuilders.get("/api/items/" + item.getUuid())
+              .header(HttpHeaders.AUTHORIZATION, authorization))
+              .andExpect(MockMvcResultMatchers.status().isOk())
+              .andExpect(MockMvcResultMatchers.header().string(
+                      HttpHeaders.CACHE_CONTROL, "no-cache"))
+              .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+      mvc.perform(MockMvcRequestBuilders.put("/api/items/" + item.getUuid())
+              .header(HttpHeaders.AUTHORIZATION, authorization)
+              .header(HttpHeaders.IF_MATCH, etag)
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(objectMapper.writeValueAsString(
+                      new NewItemModel("Edited " + i, "Edited item"))))
+              .andExpect(MockMvcResultMatchers.status().isOk())
+              .andExpect(MockMvcResultMatchers.header().string(
+                      HttpHeaders.ETAG, "\"" + i + "\""));
+    }
+  }
+
+  private String accessToken() {
+    final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    final OAuth2Request request = new OAuth2Request(
+            Map.of(), "application-client", authorities, true, Set.of("read"),
+            Set.of(), null, Set.of(), Map.of());
+    final DefaultOAuth2AccessToken token =
+            new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+    token.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5)));
+
+    return accessTokenConverter.enhance(token, new OAuth2Authentication(request,
+            new UsernamePasswordAuthenticationToken("una@test.com", "N/A", authorities)))
+            .getValue();
+  }
+}
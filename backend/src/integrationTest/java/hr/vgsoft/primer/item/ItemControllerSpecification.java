@@ -3,12 +3,19 @@ package hr.vgsoft.primer.item;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import hr.vgsoft.primer.security.configuration.PasswordEncoderConfig;
+import hr.vgsoft.primer.security.model.PasswordRehashService;
+import hr.vgsoft.primer.security.model.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.assertj.core.api.Assertions;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +27,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -32,7 +41,12 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 @DisplayName("Test Item Controller")
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(ItemController.class)
-@Import({ ItemModelAssembler.class })
+@Import({
+        ItemModelAssembler.class,
+        ItemsGeneration.class,
+        ItemPageFingerprints.class,
+        PasswordEncoderConfig.class,
+        SimpleMeterRegistry.class })
 class ItemControllerSpecification {
 
   @Autowired
@@ -41,9 +55,18 @@ class ItemControllerSpecification {
   @Autowired
   ObjectMapper objectMapper;
 
+  @Autowired
+  private MeterRegistry meterRegistry;
+
   @MockBean
   private ItemService itemService;
 
+  @MockBean(name = "userService")
+  private UserService userService;
+
+  @MockBean
+  private PasswordRehashService passwordRehashService;
+
   @Test
   void shouldReturnPageWithItems() throws Exception {
 
@@ -63,6 +86,74 @@ class ItemControllerSpecification {
     ;
   }
 
+  @Test
+  void shouldReturnNotModifiedForUnchangedPageWithoutLoadingIt() throws Exception {
+
+    final Page<Item> page =
+            new PageImpl<>(List.of(new Item(UUID.randomUUID(), "First", "First description")));
+
+    BDDMockito.given(itemService.findAll(Mockito.any())).willReturn(page);
+
+    final String etag = mvc.perform(MockMvcRequestBuilders.get("/api/items?page=3"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mvc.perform(MockMvcRequestBuilders.get("/api/items?page=3")
+            .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(MockMvcResultMatchers.status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+    Mockito.verify(itemService, Mockito.times(1)).findAll(Mockito.any());
+  }
+
+  @Test
+  void shouldReturnSearchResultsWithEtagAndQueryInLinks() throws Exception {
+    final Page<Item> page = new PageImpl<>(
+            List.of(new Item(UUID.randomUUID(), "First", "First description")),
+            PageRequest.of(0, 1), 3);
+
+    BDDMockito.given(itemService.search(Mockito.eq("fir"), Mockito.any())).willReturn(page);
+
+    final String etag = mvc.perform(MockMvcRequestBuilders.get("/api/items/search?q= fir&size=1"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$._links.next.href")
+                    .value(Matchers.containsString("q=")))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mvc.perform(MockMvcRequestBuilders.get("/api/items/search?q=fir&size=1")
+            .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(MockMvcResultMatchers.status().isNotModified());
+  }
+
+  @Test
+  void shouldRejectEmptySearchQuery() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/api/items/search?q= "))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
+  @Test
+  void shouldReturnNextLinkWithCursorOfLastItem() throws Exception {
+
+    final Item first = new Item(UUID.randomUUID(), "First", "First description");
+    final Item second = new Item(UUID.randomUUID(), "Second", "Second description");
+
+    BDDMockito.given(itemService.findAllAfter(null, 2))
+            .willReturn(new SliceImpl<>(List.of(first, second), PageRequest.of(0, 2), true));
+
+    mvc.perform(MockMvcRequestBuilders.get("/api/items?after=&size=2"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$._embedded.items.length()").value(2))
+            .andExpect(MockMvcResultMatchers.jsonPath("$._links.next.href").value(
+                    Matchers.containsString("after=" + ItemCursor.of(second).encode())));
+  }
+
+  @Test
+  void shouldRejectInvalidCursor() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/api/items?after=not-a-cursor"))
+            .andExpect(MockMvcResultMatchers.status().isBadRequest());
+  }
+
   @Test
   void shouldCreateNewItem() throws Exception {
 
@@ -94,7 +185,80 @@ class ItemControllerSpecification {
 
     mvc.perform(MockMvcRequestBuilders.get("/api/items/" + uuid.toString()))
             .andDo(MockMvcResultHandlers.print())
-            .andExpect(MockMvcResultMatchers.status().isOk());
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+  }
+
+  @Test
+  void shouldReturnNotModifiedForUnchangedItemWithoutLoadingIt() throws Exception {
+    final UUID uuid = UUID.randomUUID();
+    final Item item = new Item(uuid, "Test", "Test description");
+
+    BDDMockito.given(itemService.getItemByUuid(uuid)).willReturn(item);
+    BDDMockito.given(itemService.getItemVersionByUuid(uuid)).willReturn(item.getVersion());
+
+    final String etag = mvc.perform(MockMvcRequestBuilders.get("/api/items/" + uuid.toString()))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mvc.perform(MockMvcRequestBuilders.get("/api/items/" + uuid.toString())
+            .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(MockMvcResultMatchers.status().isNotModified());
+
+    Mockito.verify(itemService, Mockito.times(1)).getItemByUuid(uuid);
+    Assertions.assertThat(meterRegistry.get("items.etag.checks")
+            .tag("resource", "item").tag("result", "not-modified").counter().count())
+            .isEqualTo(1);
+  }
+
+  @Test
+  void shouldUpdateItemWithVersionFromIfMatchAndReturnNewEtag() throws Exception {
+    final UUID uuid = UUID.randomUUID();
+
+    BDDMockito.given(itemService.updateItemIfVersion(
+            Mockito.eq(uuid), Mockito.any(NewItemModel.class), Mockito.eq(3))).willReturn(4);
+
+    mvc.perform(MockMvcRequestBuilders.put("/api/items/" + uuid.toString())
+            .header(HttpHeaders.IF_MATCH, "\"3\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new NewItemModel("Name", "Description"))))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+
+    Mockito.verify(itemService, Mockito.never())
+            .updateItem(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void shouldAnswerPreconditionFailedWhenItemWasChanged() throws Exception {
+    final UUID uuid = UUID.randomUUID();
+
+    Mockito.doThrow(new ItemVersionMismatchException(uuid))
+            .when(itemService).deleteItemIfVersion(uuid, 3);
+
+    mvc.perform(MockMvcRequestBuilders.delete("/api/items/" + uuid.toString())
+            .header(HttpHeaders.IF_MATCH, "\"3\""))
+            .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+  }
+
+  @Test
+  void shouldAnswerNotFoundWhenConditionallyDeletedItemDoesNotExist() throws Exception {
+    final UUID uuid = UUID.randomUUID();
+
+    Mockito.doThrow(new ItemNotFoundException(uuid))
+            .when(itemService).deleteItemIfVersion(uuid, 3);
+
+    mvc.perform(MockMvcRequestBuilders.delete("/api/items/" + uuid.toString())
+            .header(HttpHeaders.IF_MATCH, "\"3\""))
+            .andExpect(MockMvcResultMatchers.status().isNotFound());
+  }
+
+  @Test
+  void shouldReadVersionOnlyFromStrongEtagIssuedForItem() {
+    Assertions.assertThat(ItemController.getVersionFromEtag(
+            "\"" + ItemController.getEtagFromVersion(7) + "\"")).isEqualTo(7);
+    Assertions.assertThat(ItemController.getVersionFromEtag("W/\"7\"")).isNegative();
+    Assertions.assertThat(ItemController.getVersionFromEtag("\"not-a-version\"")).isNegative();
   }
 
   void shouldRemoveItemByUUID() throws Exception {
@@ -0,0 +1,98 @@
+package hr.vgsoft.primer.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class ItemServiceMetricsSpecification {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Autowired
+  private ItemService itemService;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private JwtAccessTokenConverter accessTokenConverter;
+
+  @Test
+  void shouldTimeCacheMissAndHitSeparately() {
+    final Item item = itemService.newItem(new NewItemModel("Timed", "Timed description"));
+
+    itemService.getItemVersionByUuid(item.getUuid());
+    itemService.getItemVersionByUuid(item.getUuid());
+
+    Assertions.assertThat(timer("getItemVersionByUuid", "miss").count()).isEqualTo(1);
+    Assertions.assertThat(timer("getItemVersionByUuid", "hit").count()).isEqualTo(1);
+    Assertions.assertThat(timer("newItem", "none").count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldPublishPercentilesInPrometheusFormat() throws Exception {
+    itemService.findAllAfter(null, 10);
+
+    mvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminAccessToken()))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.content().string(Matchers.containsString(
+                    "items_service_seconds{cache=\"none\",exception=\"none\","
+                            + "method=\"findAllAfter\",quantile=\"0.99\",}")))
+            .andExpect(MockMvcResultMatchers.content().string(
+                    Matchers.containsString("items_pages_indexed ")))
+            .andExpect(MockMvcResultMatchers.content().string(Matchers.containsString(
+                    "cache_gets_total{cache=\"item-entity\",cacheManager=\"hibernate\"")))
+            .andExpect(MockMvcResultMatchers.content().string(
+                    Matchers.containsString("hibernate_second_level_cache_requests_total{")));
+  }
+
+  private String adminAccessToken() {
+    final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+    final OAuth2Request request = new OAuth2Request(
+            Map.of(), "application-client", authorities, true, Set.of("read"),
+            Set.of(), null, Set.of(), Map.of());
+    final DefaultOAuth2AccessToken token =
+            new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+    token.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5)));
+
+    return accessTokenConverter.enhance(token, new OAuth2Authentication(request,
+            new UsernamePasswordAuthenticationToken("andrew@test.com", "N/A", authorities)))
+            .getValue();
+  }
+
+  private Timer timer(final String method, final String cache) {
+    return meterRegistry.get(ItemServiceMetrics.TIMER_NAME)
+            .tag("method", method)
+            .tag("cache", cache)
+            .timer();
+  }
+}
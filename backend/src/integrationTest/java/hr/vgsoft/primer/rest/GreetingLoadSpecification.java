@@ -0,0 +1,65 @@
+package hr.vgsoft.primer.rest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+/**
+ * Sends many more concurrent greetings than there are request threads. If greeting held request
+ * thread for its delay, requests would be served in waves of delay each.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "server.ssl.enabled=false",
+                "server.tomcat.max-threads=4",
+                "custom.greeting.delay=1s"})
+@AutoConfigureTestDatabase
+class GreetingLoadSpecification {
+
+  private static final int CONCURRENT_REQUESTS = 100;
+
+  @LocalServerPort
+  private int port;
+
+  @Test
+  void shouldServeConcurrentGreetingsWithoutHoldingRequestThreads() {
+    final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    final HttpRequest request = HttpRequest
+            .newBuilder(URI.create("http://localhost:" + port + "/api/greeting"))
+            .timeout(Duration.ofSeconds(30))
+            .build();
+
+    final long start = System.nanoTime();
+
+    final List<CompletableFuture<HttpResponse<String>>> responses =
+            IntStream.range(0, CONCURRENT_REQUESTS)
+                    .mapToObj(it -> client.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                    .collect(Collectors.toList());
+
+    final List<Integer> statuses = responses.stream()
+            .map(CompletableFuture::join)
+            .map(HttpResponse::statusCode)
+            .collect(Collectors.toList());
+
+    final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    Assertions.assertThat(statuses).containsOnly(200);
+    // Blocking greetings would need CONCURRENT_REQUESTS / max-threads = 25 seconds
+    Assertions.assertThat(elapsed).isLessThan(Duration.ofSeconds(10));
+  }
+}
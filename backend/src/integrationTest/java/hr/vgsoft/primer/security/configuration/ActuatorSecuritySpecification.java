@@ -0,0 +1,85 @@
+package hr.vgsoft.primer.security.configuration;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class ActuatorSecuritySpecification {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Autowired
+  private JwtAccessTokenConverter accessTokenConverter;
+
+  @Test
+  void shouldServeHealthToAnonymousClient() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/actuator/health"))
+            .andExpect(MockMvcResultMatchers.status().isOk());
+  }
+
+  @Test
+  void shouldRejectAnonymousMetricsRequest() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/actuator/metrics"))
+            .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+    mvc.perform(MockMvcRequestBuilders.get("/actuator/metrics/jvm.memory.used"))
+            .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+  }
+
+  @Test
+  void shouldRejectAnonymousPrometheusScrape() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+            .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+  }
+
+  @Test
+  void shouldForbidMetricsToUser() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/actuator/metrics")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken("ROLE_USER")))
+            .andExpect(MockMvcResultMatchers.status().isForbidden());
+  }
+
+  @Test
+  void shouldServeMetricsToAdmin() throws Exception {
+    mvc.perform(MockMvcRequestBuilders.get("/actuator/metrics")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken("ROLE_ADMIN")))
+            .andExpect(MockMvcResultMatchers.status().isOk());
+  }
+
+  private String accessToken(final String role) {
+    final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
+    final OAuth2Request request = new OAuth2Request(
+            Map.of(), "application-client", authorities, true, Set.of("read"),
+            Set.of(), null, Set.of(), Map.of());
+    final DefaultOAuth2AccessToken token =
+            new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+    token.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5)));
+
+    return accessTokenConverter.enhance(token, new OAuth2Authentication(request,
+            new UsernamePasswordAuthenticationToken("andrew@test.com", "N/A", authorities)))
+            .getValue();
+  }
+}
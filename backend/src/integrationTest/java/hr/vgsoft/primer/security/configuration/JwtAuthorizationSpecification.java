@@ -0,0 +1,143 @@
+package hr.vgsoft.primer.security.configuration;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.SignedJWT;
+import hr.vgsoft.primer.security.model.UserRepository;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class JwtAuthorizationSpecification {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @Autowired
+  private JwtAccessTokenConverter accessTokenConverter;
+
+  @Autowired
+  private CachingResourceServerTokenServices resourceServerTokenServices;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  private final List<String> userRepositoryCalls = new ArrayList<>();
+
+  private final MethodInterceptor userRepositoryCallRecorder = invocation -> {
+    userRepositoryCalls.add(invocation.getMethod().getName());
+    return invocation.proceed();
+  };
+
+  @BeforeEach
+  void setup() {
+    ((Advised) userRepository).addAdvice(0, userRepositoryCallRecorder);
+  }
+
+  @AfterEach
+  void cleanup() {
+    ((Advised) userRepository).removeAdvice(userRepositoryCallRecorder);
+  }
+
+  @Test
+  void shouldAuthorizeRequestWithoutLoadingUser() throws Exception {
+    final String accessToken = accessToken();
+
+    for (int i = 0; i < 2; i++) {
+      mvc.perform(MockMvcRequestBuilders.get("/api/items")
+              .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+              .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    Assertions.assertThat(userRepositoryCalls).isEmpty();
+    Assertions.assertThat(resourceServerTokenServices.getVerifiedTokens()
+            .getIfPresent(accessToken)).isNotNull();
+  }
+
+  @Test
+  void shouldReturnOwnAuthenticationToEveryCallerOfCachedToken() {
+    final String accessToken = accessToken();
+
+    final OAuth2Authentication first = resourceServerTokenServices.loadAuthentication(accessToken);
+    first.setDetails("first request");
+    final OAuth2Authentication second =
+            resourceServerTokenServices.loadAuthentication(accessToken);
+
+    Assertions.assertThat(second).isNotSameAs(first);
+    Assertions.assertThat(second.getDetails()).isNull();
+    Assertions.assertThat(second.getName()).isEqualTo("una@test.com");
+    Assertions.assertThat(resourceServerTokenServices.getVerifiedTokens()
+            .getIfPresent(accessToken).getExpiration()).isInTheFuture();
+  }
+
+  @Test
+  void shouldRejectTokenWithChangedClaims() throws Exception {
+    final String[] parts = accessToken().split("\\.");
+    final String otherClaims = accessToken().split("\\.")[1];
+    final String changed = parts[0] + "." + otherClaims + "." + parts[2];
+
+    mvc.perform(MockMvcRequestBuilders.get("/api/items")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + changed))
+            .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+  }
+
+  @Test
+  void shouldPublishKeyThatVerifiesTokens() throws Exception {
+    final String jwkSet = mvc.perform(MockMvcRequestBuilders.get(JwkSetController.JWK_SET_PATH))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+    final SignedJWT token = SignedJWT.parse(accessToken());
+    final JWK key = JWKSet.parse(jwkSet).getKeyByKeyId(token.getHeader().getKeyID());
+
+    Assertions.assertThat(token.getHeader().getAlgorithm()).isEqualTo(JWSAlgorithm.RS256);
+    Assertions.assertThat(key).isNotNull();
+    Assertions.assertThat(token.verify(new RSASSAVerifier((RSAKey) key))).isTrue();
+  }
+
+  private String accessToken() {
+    final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    final OAuth2Request request = new OAuth2Request(
+            Map.of(), "application-client", authorities, true, Set.of("read"),
+            Set.of(), null, Set.of(), Map.of());
+    final DefaultOAuth2AccessToken token =
+            new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+    token.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(5)));
+
+    return accessTokenConverter.enhance(token, new OAuth2Authentication(request,
+            new UsernamePasswordAuthenticationToken("una@test.com", "N/A", authorities)))
+            .getValue();
+  }
+}
@@ -0,0 +1,139 @@
+package hr.vgsoft.primer.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.hateoas.server.core.DelegatingLinkRelationProvider;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Benchmarks of everything that is done for item read requests after item is loaded.
+ *
+ * <p>Request that is bound to thread has forwarded headers, same as request that comes from
+ * proxy, so link building does same work as in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ItemReadPathBenchmark {
+
+  @Param({"20", "200", "2000"})
+  private int pageSize;
+
+  private Item item;
+  private Page<Item> page;
+  private PagedModel<ItemModel> pagedModel;
+
+  private ItemModelAssembler itemModelAssembler;
+  private ObjectMapper halObjectMapper;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items");
+    request.setScheme("https");
+    request.setServerName("localhost");
+    request.setServerPort(8443);
+    request.addHeader("X-Forwarded-Host", "primer.vgsoft.hr");
+    request.addHeader("X-Forwarded-Proto", "https");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+    final List<Item> items = IntStream.range(0, pageSize)
+            .mapToObj(it -> new Item(UUID.randomUUID(), "TestItem" + it, "Description " + it))
+            .collect(Collectors.toList());
+
+    item = items.get(0);
+    page = new PageImpl<>(items, PageRequest.of(0, pageSize), pageSize * 10L);
+
+    itemModelAssembler = new ItemModelAssembler();
+
+    pagedModel = new PagedModel<>(
+            items.stream().map(ItemModel::new).collect(Collectors.toList()),
+            new PagedModel.PageMetadata(pageSize, 0, pageSize * 10L));
+
+    halObjectMapper = new ObjectMapper();
+    halObjectMapper.registerModule(new Jackson2HalModule());
+    halObjectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+            new DelegatingLinkRelationProvider(
+                    new AnnotationLinkRelationProvider(), new DefaultLinkRelationProvider()),
+            CurieProvider.NONE,
+            MessageResolver.DEFAULTS_ONLY));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Benchmark
+  public ItemModel itemModelConstruction() {
+    return new ItemModel(item);
+  }
+
+  /**
+   * Self link as it was built before link templates, kept to compare cost per item.
+   *
+   * @return Self link of item
+   */
+  @Benchmark
+  @SuppressWarnings("ConstantConditions")
+  public Link itemSelfLinkWithLinkBuilder() {
+    return WebMvcLinkBuilder
+            .linkTo(WebMvcLinkBuilder.methodOn(ItemController.class).findItem(item.getUuid(), null))
+            .withSelfRel();
+  }
+
+  @Benchmark
+  public Link itemSelfLinkFromTemplate() {
+    return ItemLinks.selfLink(item.getUuid());
+  }
+
+  @Benchmark
+  public List<ItemModel> itemModelAssemblerForPage() {
+    return page.getContent().stream()
+            .map(itemModelAssembler::toModel)
+            .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public String itemEtag() {
+    return ItemController.getEtagFromVersion(item.getVersion());
+  }
+
+  @Benchmark
+  public String pageEtag() {
+    return ItemPageFingerprints.calculate(page);
+  }
+
+  @Benchmark
+  public byte[] halSerializationOfPage() throws JsonProcessingException {
+    return halObjectMapper.writeValueAsBytes(pagedModel);
+  }
+}
@@ -0,0 +1,134 @@
+package hr.vgsoft.primer.item;
+
+import hr.vgsoft.primer.PrimerApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.aop.framework.Advised;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+
+/**
+ * Compares synchronous and async execution of item endpoints when database is slow. Every call to
+ * {@link ItemRepository} is delayed, same as when query waits for locks or for busy database, and
+ * there are more concurrent clients than request threads.
+ *
+ * <p>Throughput shows how many requests are served per millisecond, sample time shows latency
+ * percentiles (p0.99). Synchronous mode is limited by request threads, async mode by pool size of
+ * async executor. Delay is inside transaction and holds connection, so connection pool is as
+ * large as async executor, otherwise both modes would be limited by connection pool.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(64)
+public class ItemsSlowDatabaseBenchmark {
+
+  @Param({"false", "true"})
+  private boolean async;
+
+  @Param({"100"})
+  private long databaseDelayMillis;
+
+  @Param({"8"})
+  private int requestThreads;
+
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private HttpRequest request;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    context = new SpringApplicationBuilder(PrimerApplication.class)
+            .properties(Map.of(
+                    "server.port", "0",
+                    "server.ssl.enabled", "false",
+                    "server.tomcat.max-threads", String.valueOf(requestThreads),
+                    "custom.async.enabled", String.valueOf(async),
+                    "custom.async.pool-size", "64",
+                    "spring.datasource.hikari.maximum-pool-size", "64",
+                    "spring.jpa.show-sql", "false",
+                    "logging.level.root", "WARN",
+                    "logging.level.org.hibernate", "WARN",
+                    "logging.level.hr.vgsoft.primer", "WARN"))
+            .run();
+
+    final ItemRepository itemRepository = context.getBean(ItemRepository.class);
+    final MethodInterceptor slowDatabase = invocation -> {
+      Thread.sleep(databaseDelayMillis);
+      return invocation.proceed();
+    };
+    ((Advised) itemRepository).addAdvice(0, slowDatabase);
+
+    final int port =
+            ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+    client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    // Slice of items is not cached, so every request goes to database
+    request = HttpRequest
+            .newBuilder(URI.create("http://localhost:" + port + "/api/items?after=&size=20"))
+            .header("Authorization", "Bearer " + accessToken())
+            .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int findItemsAfter() throws IOException, InterruptedException {
+    final HttpResponse<Void> response =
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("Unexpected status " + response.statusCode());
+    }
+    return response.statusCode();
+  }
+
+  private String accessToken() {
+    final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    final OAuth2Request oauth2Request = new OAuth2Request(
+            Map.of(), "application-client", authorities, true, Set.of("read"),
+            Set.of(), null, Set.of(), Map.of());
+    final DefaultOAuth2AccessToken token =
+            new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+    token.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+
+    return context.getBean(JwtAccessTokenConverter.class).enhance(token,
+            new OAuth2Authentication(oauth2Request,
+                    new UsernamePasswordAuthenticationToken("una@test.com", "N/A", authorities)))
+            .getValue();
+  }
+}
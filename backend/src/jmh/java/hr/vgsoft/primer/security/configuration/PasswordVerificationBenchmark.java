@@ -0,0 +1,43 @@
+package hr.vgsoft.primer.security.configuration;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * CPU time of password check that is done on every password grant, for bcrypt strengths that
+ * make sense for custom.password.bcrypt-strength.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class PasswordVerificationBenchmark {
+
+  private static final String PASSWORD = "password";
+
+  @Param({"8", "10", "12"})
+  private int bcryptStrength;
+
+  private PasswordEncoder passwordEncoder;
+  private String encodedPassword;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    passwordEncoder = new PasswordEncoderConfig().passwordEncoder(bcryptStrength);
+    encodedPassword = passwordEncoder.encode(PASSWORD);
+  }
+
+  @Benchmark
+  public boolean passwordMatches() {
+    return passwordEncoder.matches(PASSWORD, encodedPassword);
+  }
+}
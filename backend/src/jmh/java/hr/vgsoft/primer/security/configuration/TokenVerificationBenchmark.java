@@ -0,0 +1,89 @@
+package hr.vgsoft.primer.security.configuration;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+
+/**
+ * Benchmarks of authorization of one API request with bearer token. Token services are wired
+ * same as in {@link AuthorizationServerConfig}, without user details service, so measured time
+ * is whole cost of authorization and there is no database lookup on this path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class TokenVerificationBenchmark {
+
+  private DefaultTokenServices tokenServices;
+  private CachingResourceServerTokenServices cachingTokenServices;
+
+  private String accessToken;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    final JwtProperties jwtProperties = new JwtProperties();
+    jwtProperties.setKeyStore(new ClassPathResource("keystore.p12"));
+    jwtProperties.setKeyStorePassword("mladen");
+    jwtProperties.setKeyAlias("tomcat");
+
+    final JwtAccessTokenConverter converter =
+            new KeyIdJwtAccessTokenConverter(new JwtSigningKey(jwtProperties));
+    converter.afterPropertiesSet();
+
+    tokenServices = new DefaultTokenServices();
+    tokenServices.setTokenStore(new JwtTokenStore(converter));
+
+    cachingTokenServices = new CachingResourceServerTokenServices(
+            tokenServices, 10000, Duration.ofHours(1));
+
+    final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    final OAuth2Request request = new OAuth2Request(
+            Map.of(), "application-client", authorities, true, Set.of("read", "write"),
+            Set.of(), null, Set.of(), Map.of());
+    final DefaultOAuth2AccessToken token =
+            new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+    token.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+
+    accessToken = converter.enhance(token, new OAuth2Authentication(request,
+            new UsernamePasswordAuthenticationToken("una@test.com", "N/A", authorities)))
+            .getValue();
+  }
+
+  /**
+   * Verification of signature and parsing of claims on every request, as it was before cache.
+   *
+   * @return Authentication from token
+   */
+  @Benchmark
+  public OAuth2Authentication verifyEveryTime() {
+    return tokenServices.loadAuthentication(accessToken);
+  }
+
+  @Benchmark
+  public OAuth2Authentication verifyOnceAndCache() {
+    return cachingTokenServices.loadAuthentication(accessToken);
+  }
+}
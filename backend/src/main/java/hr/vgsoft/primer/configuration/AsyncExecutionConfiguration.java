@@ -0,0 +1,63 @@
+package hr.vgsoft.primer.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * Async execution mode of {@link OptionalAsync} controllers. Executor is not exposed as bean,
+ * because any executor bean would replace Boot's {@code applicationTaskExecutor} that is used for
+ * other async requests.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "custom.async", name = "enabled", havingValue = "true")
+public class AsyncExecutionConfiguration implements WebMvcRegistrations, DisposableBean {
+
+  private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+  private final AsyncExecutionProperties properties;
+
+  /**
+   * Creates bounded executor for handlers. When its queue is full handler is run on request
+   * thread, so load above limit is slowed down to synchronous execution and not rejected.
+   *
+   * @param properties Async execution configuration
+   * @param meterRegistry Registry for executor.* metrics of executor
+   */
+  public AsyncExecutionConfiguration(
+          final AsyncExecutionProperties properties, final MeterRegistry meterRegistry) {
+    this.properties = properties;
+
+    executor.setCorePoolSize(properties.getPoolSize());
+    executor.setMaxPoolSize(properties.getPoolSize());
+    executor.setQueueCapacity(properties.getQueueCapacity());
+    executor.setThreadNamePrefix("async-handler-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.initialize();
+
+    new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "async.handler", Tags.empty())
+            .bindTo(meterRegistry);
+
+    log.info("Async execution of handlers is enabled with {}", properties);
+  }
+
+  @Override
+  public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+    return new OptionalAsyncRequestMappingHandlerAdapter(executor, properties.getTimeout());
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,36 @@
+package hr.vgsoft.primer.configuration;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.async")
+@Data
+public class AsyncExecutionProperties {
+
+  /**
+   * Runs handler methods of {@link OptionalAsync} controllers on async executor and releases
+   * request thread while they wait for database.
+   */
+  private boolean enabled = false;
+
+  /**
+   * Number of threads of async executor, this is also maximum number of handlers that wait for
+   * database at the same time.
+   */
+  private int poolSize = 64;
+
+  /**
+   * Handlers waiting for executor thread, when queue is full handler is run on request thread.
+   */
+  private int queueCapacity = 500;
+
+  /**
+   * Time after which request whose handler didn't complete is answered with 503.
+   */
+  private Duration timeout = Duration.ofSeconds(30);
+}
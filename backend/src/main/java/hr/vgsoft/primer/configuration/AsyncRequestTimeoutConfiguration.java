@@ -0,0 +1,18 @@
+package hr.vgsoft.primer.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Lets handlers set timeout of their own async request with
+ * {@link AsyncRequestTimeoutInterceptor#setTimeout}.
+ */
+@Configuration
+public class AsyncRequestTimeoutConfiguration implements WebMvcConfigurer {
+
+  @Override
+  public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+    configurer.registerCallableInterceptors(new AsyncRequestTimeoutInterceptor());
+  }
+}
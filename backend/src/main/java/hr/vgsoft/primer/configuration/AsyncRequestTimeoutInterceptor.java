@@ -0,0 +1,41 @@
+package hr.vgsoft.primer.configuration;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+/**
+ * Gives async request timeout chosen by handler, for example to {@code StreamingResponseBody}
+ * that is written much longer than other async requests. Requests without timeout of their own
+ * keep container default.
+ */
+public class AsyncRequestTimeoutInterceptor implements CallableProcessingInterceptor {
+
+  static final String TIMEOUT_ATTRIBUTE =
+          AsyncRequestTimeoutInterceptor.class.getName() + ".TIMEOUT";
+
+  /**
+   * Sets timeout of async processing that handler of current request starts.
+   *
+   * @param request Current request
+   * @param timeout Timeout of async processing
+   */
+  public static void setTimeout(final NativeWebRequest request, final Duration timeout) {
+    request.setAttribute(TIMEOUT_ATTRIBUTE, timeout, RequestAttributes.SCOPE_REQUEST);
+  }
+
+  @Override
+  public <T> void beforeConcurrentHandling(
+          final NativeWebRequest request, final Callable<T> task) {
+    final Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+    // Called before async processing is started, while timeout can still be changed
+    if (timeout instanceof Duration && request instanceof AsyncWebRequest) {
+      ((AsyncWebRequest) request).setTimeout(((Duration) timeout).toMillis());
+    }
+  }
+}
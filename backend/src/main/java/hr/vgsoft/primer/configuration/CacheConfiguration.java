@@ -0,0 +1,55 @@
+package hr.vgsoft.primer.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class CacheConfiguration {
+
+  /**
+   * Cache manager with bounded Caffeine cache for every cache name. Caches configured in
+   * properties are created at startup so actuator can register their metrics, unknown caches
+   * are created on first use with default configuration.
+   *
+   * @param cacheProperties Cache configuration
+   * @return CacheManager
+   */
+  @Bean
+  public CacheManager cacheManager(final CacheProperties cacheProperties) {
+    final SimpleCacheManager cacheManager = new SimpleCacheManager() {
+      @Override
+      protected Cache getMissingCache(final String name) {
+        log.warn("Cache {} is not configured, using default configuration", name);
+        return createCache(name, cacheProperties.getDefaults());
+      }
+    };
+
+    final List<Cache> caches = cacheProperties.getCaches().entrySet().stream()
+            .map(it -> createCache(it.getKey(), it.getValue()))
+            .collect(Collectors.toList());
+    cacheManager.setCaches(caches);
+
+    return cacheManager;
+  }
+
+  private static Cache createCache(final String name, final CacheProperties.Spec spec) {
+    log.info("Creating cache {} with {}", name, spec);
+
+    return new CaffeineCache(name, Caffeine.newBuilder()
+            .maximumSize(spec.getMaximumSize())
+            .expireAfterWrite(spec.getExpireAfterWrite())
+            .recordStats()
+            .build());
+  }
+}
@@ -0,0 +1,37 @@
+package hr.vgsoft.primer.configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.cache")
+@Data
+public class CacheProperties {
+
+  /**
+   * Used for caches that are not configured by name.
+   */
+  private Spec defaults = new Spec();
+
+  /**
+   * Configuration for every cache by its name.
+   */
+  private Map<String, Spec> caches = new HashMap<>();
+
+  /**
+   * Configuration for every Hibernate second-level and query cache region by its name.
+   */
+  private Map<String, Spec> regions = new HashMap<>();
+
+  @Data
+  public static class Spec {
+    private long maximumSize = 1000;
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+  }
+}
@@ -1,38 +1,170 @@
 package hr.vgsoft.primer.configuration;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.servlet.http.HttpServletRequest;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.CachingResourceResolver;
+import org.springframework.web.servlet.resource.ContentVersionStrategy;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+import org.springframework.web.servlet.resource.VersionStrategy;
+import org.springframework.web.util.UriUtils;
 
+/**
+ * Serves frontend from {@code classpath:/public/}. Frontend build references assets by content
+ * hash ({@code elm-<md5>.js}) and creates their gzip and brotli variants, so assets can be
+ * cached forever and are sent compressed if client accepts it. Index.html is held in memory and
+ * is also returned for all unknown paths, so client side routes work after reload. Asset with
+ * version of older build is not found, so it isn't cached as script or stylesheet.
+ *
+ * <p>Files under public location are listed once at startup. Client side route is recognized by
+ * one lookup in that list and doesn't search classpath (zip entries of jar) on every page load.
+ */
 @Slf4j
 @Configuration
 public class ForwardingRequestsConfiguration implements WebMvcConfigurer {
 
+  static final String PUBLIC_LOCATION = "classpath:/public/";
+
+  private final IndexHtmlResource indexHtml;
+  private final Set<String> publicPaths;
+  private final VersionStrategy versionStrategy = new ContentVersionStrategy();
+  private final Duration maxAge;
+
+  /**
+   * Loads index.html and lists files under public location.
+   *
+   * @param resourceLoader Resource loader
+   * @param maxAge How long content hashed assets are cached
+   * @param indexHtmlMaxAge How long index.html is cached before it is revalidated
+   * @throws IOException If index.html can't be read or public location can't be listed
+   */
+  public ForwardingRequestsConfiguration(
+          final ResourceLoader resourceLoader,
+          @Value("${custom.static-resources.max-age:365d}") final Duration maxAge,
+          @Value("${custom.static-resources.index-html-max-age:1m}")
+          final Duration indexHtmlMaxAge) throws IOException {
+    this.maxAge = maxAge;
+    this.indexHtml = IndexHtmlResource.load(
+            resourceLoader.getResource(PUBLIC_LOCATION + IndexHtmlResource.FILENAME),
+            CacheControl.maxAge(indexHtmlMaxAge).mustRevalidate());
+
+    this.publicPaths = listPublicPaths(resourceLoader);
+
+    if (indexHtml == null) {
+      log.warn("{}{} doesn't exist, frontend is not built", PUBLIC_LOCATION,
+              IndexHtmlResource.FILENAME);
+    }
+    log.info("Serving {} files from {}", publicPaths.size(), PUBLIC_LOCATION);
+  }
+
+  private static Set<String> listPublicPaths(final ResourceLoader resourceLoader)
+          throws IOException {
+    final ResourcePatternResolver resolver =
+            new PathMatchingResourcePatternResolver(resourceLoader);
+
+    final Resource root = resolver.getResource(PUBLIC_LOCATION);
+    if (!root.exists()) {
+      return Set.of();
+    }
+    final String rootUrl = root.getURL().toString();
+
+    return Arrays.stream(resolver.getResources(PUBLIC_LOCATION + "**"))
+            .filter(Resource::isReadable)
+            .map(it -> {
+              try {
+                return it.getURL().toString();
+              } catch (IOException e) {
+                throw new IllegalStateException("Can't list " + it, e);
+              }
+            })
+            .filter(it -> it.startsWith(rootUrl))
+            .map(it -> UriUtils.decode(it.substring(rootUrl.length()), StandardCharsets.UTF_8))
+            .collect(Collectors.toUnmodifiableSet());
+  }
+
+  /**
+   * Checks if path is file under public location, possibly with content version in its name.
+   * Version itself is checked by resolver chain.
+   */
+  private boolean isPublicPath(final String path) {
+    if (publicPaths.contains(path)) {
+      return true;
+    }
+
+    final String version = versionStrategy.extractVersion(path);
+    return version != null && publicPaths.contains(versionStrategy.removeVersion(path, version));
+  }
+
   @Override
   public void addResourceHandlers(ResourceHandlerRegistry registry) {
+    // Fallback is in front of caching resolver, so resolved resources that are cached are only
+    // real files and not every unknown path
     registry.addResourceHandler("/**/*")
-            .addResourceLocations("classpath:/public/")
-            // TODO: Enable this in production, maybe make separate configuration for prod environment
-            .setCachePeriod(31556926)
-            .resourceChain(true)
-            .addResolver(new PathResourceResolver() {
-              @Override
-              protected Resource getResource(String resourcePath, Resource location)
-                      throws IOException {
-
-                log.debug("Forwarding all unknown requests to index.html");
-
-                Resource requestedResource = location.createRelative(resourcePath);
-                return requestedResource.exists() && requestedResource.isReadable() ?
-                        requestedResource : new ClassPathResource("/public/index.html");
-              }
-            });
+            .addResourceLocations(PUBLIC_LOCATION)
+            .setCacheControl(immutable(maxAge))
+            .resourceChain(false)
+            .addResolver(new IndexHtmlFallbackResolver())
+            .addResolver(new CachingResourceResolver(new ConcurrentMapCache("staticResources")))
+            .addResolver(new EncodedResourceResolver())
+            .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+  }
+
+  /**
+   * Cache-Control for assets that never change under same URL. CacheControl of this Spring
+   * version doesn't support immutable directive.
+   */
+  private static CacheControl immutable(final Duration maxAge) {
+    return new CacheControl() {
+      @Override
+      public String getHeaderValue() {
+        return "max-age=" + maxAge.getSeconds() + ", public, immutable";
+      }
+    };
+  }
+
+  private class IndexHtmlFallbackResolver extends AbstractResourceResolver {
+
+    @Override
+    protected Resource resolveResourceInternal(
+            final HttpServletRequest request, final String requestPath,
+            final List<? extends Resource> locations, final ResourceResolverChain chain) {
+
+      if (IndexHtmlResource.FILENAME.equals(requestPath) || !isPublicPath(requestPath)) {
+        return indexHtml;
+      }
+
+      // Asset with version of older build is not found (null), index.html is not an asset
+      return chain.resolveResource(request, requestPath, locations);
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(
+            final String resourceUrlPath, final List<? extends Resource> locations,
+            final ResourceResolverChain chain) {
+
+      return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
   }
 }
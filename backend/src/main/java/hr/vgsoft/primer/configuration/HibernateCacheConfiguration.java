@@ -0,0 +1,102 @@
+package hr.vgsoft.primer.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level and query cache. Regions are bounded Caffeine caches behind JCache API
+ * and are created at startup from {@code custom.cache.regions}. Entity or query that uses region
+ * which is not configured fails instead of getting unbounded cache. Hit and miss counts of every
+ * region are exposed as cache.* metrics with {@code cacheManager=hibernate}.
+ */
+@Slf4j
+@Configuration
+public class HibernateCacheConfiguration {
+
+  /**
+   * Cache manager with one cache for every region. Every application context gets own cache
+   * manager, because provider shares managers with same URI. Hibernate closes it together with
+   * entity manager factory.
+   *
+   * @param cacheProperties Cache configuration
+   * @return JCache CacheManager
+   */
+  @Bean
+  public CacheManager hibernateCacheManager(final CacheProperties cacheProperties) {
+    return createCacheManager(cacheProperties.getRegions());
+  }
+
+  /**
+   * Enables second-level and query cache with regions from Hibernate cache manager.
+   *
+   * @param hibernateCacheManager Cache manager with all regions
+   * @return HibernatePropertiesCustomizer
+   */
+  @Bean
+  public HibernatePropertiesCustomizer hibernateCacheCustomizer(
+          final CacheManager hibernateCacheManager) {
+    return properties -> {
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+      properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+      properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+      properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+    };
+  }
+
+  /**
+   * Metrics of every region, tagged like metrics of application caches so they can be exported
+   * together.
+   *
+   * @param hibernateCacheManager Cache manager with all regions
+   * @return MeterBinder
+   */
+  @Bean
+  public MeterBinder hibernateCacheMetrics(final CacheManager hibernateCacheManager) {
+    return registry -> hibernateCacheManager.getCacheNames().forEach(name ->
+            JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name),
+                    Tags.of("cacheManager", "hibernate", "name", name)));
+  }
+
+  private static CacheManager createCacheManager(final Map<String, CacheProperties.Spec> regions) {
+    final CachingProvider cachingProvider =
+            Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    final CacheManager cacheManager = cachingProvider.getCacheManager(
+            URI.create("urn:hibernate:" + UUID.randomUUID()),
+            cachingProvider.getDefaultClassLoader());
+
+    regions.forEach((name, spec) -> {
+      log.info("Creating Hibernate cache region {} with {}", name, spec);
+
+      final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+      configuration.setMaximumSize(OptionalLong.of(spec.getMaximumSize()));
+      configuration.setExpireAfterWrite(OptionalLong.of(spec.getExpireAfterWrite().toNanos()));
+      // Hibernate caches disassembled state that it never changes, copy on every access is waste
+      configuration.setStoreByValue(false);
+      configuration.setStatisticsEnabled(true);
+
+      cacheManager.createCache(name, configuration);
+    });
+
+    return cacheManager;
+  }
+}
@@ -0,0 +1,66 @@
+package hr.vgsoft.primer.configuration;
+
+import java.io.IOException;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.web.servlet.resource.HttpResource;
+
+/**
+ * Content of index.html that is read once at startup. It references content hashed assets, so
+ * it must be revalidated often and its cache headers replace long cache period of other static
+ * resources.
+ */
+class IndexHtmlResource extends ByteArrayResource implements HttpResource {
+
+  static final String FILENAME = "index.html";
+
+  private final long lastModified;
+  private final CacheControl cacheControl;
+
+  private IndexHtmlResource(
+          final byte[] content, final long lastModified, final CacheControl cacheControl) {
+    super(content, "In memory " + FILENAME);
+    this.lastModified = lastModified;
+    this.cacheControl = cacheControl;
+  }
+
+  /**
+   * Reads index.html into memory.
+   *
+   * @param resource Original index.html
+   * @param cacheControl Cache control of index.html
+   * @return Resource with same content, or null if index.html doesn't exist (frontend is not
+   *     built)
+   * @throws IOException If index.html can't be read
+   */
+  static IndexHtmlResource load(final Resource resource, final CacheControl cacheControl)
+          throws IOException {
+    if (!resource.exists()) {
+      return null;
+    }
+
+    return new IndexHtmlResource(FileCopyUtils.copyToByteArray(resource.getInputStream()),
+            resource.lastModified(), cacheControl);
+  }
+
+  @Override
+  public String getFilename() {
+    return FILENAME;
+  }
+
+  @Override
+  public long lastModified() {
+    return lastModified;
+  }
+
+  @Override
+  public HttpHeaders getResponseHeaders() {
+    final HttpHeaders headers = new HttpHeaders();
+    headers.setCacheControl(cacheControl);
+    return headers;
+  }
+}
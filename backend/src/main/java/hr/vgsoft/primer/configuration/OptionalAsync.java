@@ -0,0 +1,18 @@
+package hr.vgsoft.primer.configuration;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks controller whose handler methods are run on async executor when
+ * {@code custom.async.enabled} is true. Controller itself stays synchronous, it is not changed
+ * when mode is switched.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface OptionalAsync {
+}
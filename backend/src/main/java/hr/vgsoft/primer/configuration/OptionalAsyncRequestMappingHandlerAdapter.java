@@ -0,0 +1,71 @@
+package hr.vgsoft.primer.configuration;
+
+import java.time.Duration;
+
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+/**
+ * Invokes handler methods of {@link OptionalAsync} controllers as {@link WebAsyncTask}. Return
+ * value handler is chosen by type of returned value, so async task is handled as if method
+ * returned it and its result is later handled by declared return type of method.
+ *
+ * <p>Request attributes and locale are bound to executor thread for link building. Security
+ * context and open entity manager are already propagated by their own async interceptors.
+ */
+class OptionalAsyncRequestMappingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+  private final AsyncTaskExecutor executor;
+  private final long timeoutMillis;
+
+  OptionalAsyncRequestMappingHandlerAdapter(
+          final AsyncTaskExecutor executor, final Duration timeout) {
+    this.executor = executor;
+    this.timeoutMillis = timeout.toMillis();
+  }
+
+  @Override
+  protected ServletInvocableHandlerMethod createInvocableHandlerMethod(
+          final HandlerMethod handlerMethod) {
+
+    if (!AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), OptionalAsync.class)) {
+      return super.createInvocableHandlerMethod(handlerMethod);
+    }
+
+    return new ServletInvocableHandlerMethod(handlerMethod) {
+      @Override
+      protected Object doInvoke(final Object... args) {
+        // Request attributes of request thread are completed when it returns, so executor
+        // thread gets its own attributes for same request
+        final ServletRequestAttributes requestThreadAttributes =
+                (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        final RequestAttributes requestAttributes = new ServletRequestAttributes(
+                requestThreadAttributes.getRequest(), requestThreadAttributes.getResponse());
+        final LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+
+        return new WebAsyncTask<>(timeoutMillis, executor, () -> {
+          final RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+          final LocaleContext previousLocale = LocaleContextHolder.getLocaleContext();
+          RequestContextHolder.setRequestAttributes(requestAttributes);
+          LocaleContextHolder.setLocaleContext(localeContext);
+          try {
+            return super.doInvoke(args);
+          } finally {
+            // Restored and not reset, handler is run on request thread when queue is full
+            RequestContextHolder.setRequestAttributes(previousAttributes);
+            LocaleContextHolder.setLocaleContext(previousLocale);
+          }
+        });
+      }
+    };
+  }
+}
@@ -0,0 +1,85 @@
+package hr.vgsoft.primer.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Primary and replica connection pools behind {@link ReplicaRoutingDataSource}. Used only when
+ * replica url is set, otherwise Boot creates single pool from {@code spring.datasource.*}.
+ * Pools are beans so both get hikaricp.* metrics, tagged with pool name.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "custom.datasource.replica", name = "url")
+public class ReplicaDataSourceConfiguration {
+
+  /**
+   * Pool of primary, configured like Boot's own pool with {@code spring.datasource.hikari.*}.
+   *
+   * @param properties Primary data source configuration
+   * @return HikariDataSource
+   */
+  @Bean
+  @ConfigurationProperties(prefix = "spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(final DataSourceProperties properties) {
+    final HikariDataSource dataSource =
+            properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  /**
+   * Pool of replica, configured with {@code custom.datasource.replica.hikari.*}. Pool is started
+   * on first use and doesn't fail when replica is down, so application starts without replica.
+   *
+   * @param properties Replica configuration
+   * @return HikariDataSource
+   */
+  @Bean
+  @ConfigurationProperties(prefix = "custom.datasource.replica.hikari")
+  public HikariDataSource replicaDataSource(final ReplicaDataSourceProperties properties) {
+    final HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(properties.getUrl())
+            .username(properties.getUsername())
+            .password(properties.getPassword())
+            .build();
+    dataSource.setPoolName("replica");
+    dataSource.setInitializationFailTimeout(-1);
+    return dataSource;
+  }
+
+  /**
+   * Data source used by JPA and everything else.
+   *
+   * @param primaryDataSource Primary pool
+   * @param replicaDataSource Replica pool
+   * @param properties Replica configuration
+   * @return DataSource
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(
+          @Qualifier("primaryDataSource") final DataSource primaryDataSource,
+          @Qualifier("replicaDataSource") final DataSource replicaDataSource,
+          final ReplicaDataSourceProperties properties) {
+    log.info("Read-only transactions use replica {}", properties.getUrl());
+
+    return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+            primaryDataSource, replicaDataSource,
+            properties.getMaxLag(), properties.getRetryAfter()));
+  }
+}
@@ -0,0 +1,35 @@
+package hr.vgsoft.primer.configuration;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.datasource.replica")
+@Data
+public class ReplicaDataSourceProperties {
+
+  /**
+   * JDBC url of read replica, read-only transactions use replica only if it is set. Pool of
+   * replica is configured with {@code custom.datasource.replica.hikari.*}.
+   */
+  private String url;
+
+  private String username;
+
+  private String password;
+
+  /**
+   * How far replica can be behind primary. After transaction that could have written is
+   * committed, read-only transactions go to primary for this long.
+   */
+  private Duration maxLag = Duration.ofSeconds(5);
+
+  /**
+   * How long primary is used for read-only transactions after replica couldn't give connection.
+   */
+  private Duration retryAfter = Duration.ofSeconds(30);
+}
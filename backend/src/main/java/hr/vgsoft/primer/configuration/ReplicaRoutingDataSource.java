@@ -0,0 +1,209 @@
+package hr.vgsoft.primer.configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Gives connections of read-only transactions from replica and all other connections from
+ * primary. Must be wrapped in {@link LazyConnectionDataSourceProxy}, because transaction manager
+ * asks for connection before transaction is marked read-only.
+ *
+ * <p>Replica is behind primary, so after transaction that changed data is committed, read-only
+ * transactions go to primary until replica had time to catch up. Transaction changed data if it
+ * executed update or batch statement, transactions that are not marked read-only but only read
+ * keep replica in use. Client reads its own writes and caches invalidated by write are not filled
+ * again with state from before write. When replica can't give connection, primary is used and
+ * replica is not tried again for some time.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+  private static final Set<String> WRITE_METHODS = Set.of(
+          "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+  private final DataSource primary;
+  private final DataSource replica;
+  private final long maxLagNanos;
+  private final Duration retryAfter;
+  private final LongSupplier nanoClock;
+
+  private final AtomicLong readFromPrimaryUntil;
+  private volatile long replicaDownUntil;
+
+  /**
+   * Creates routing data source.
+   *
+   * @param primary Primary data source
+   * @param replica Replica data source
+   * @param maxLag How far replica can be behind primary
+   * @param retryAfter How long replica is not used after it couldn't give connection
+   */
+  public ReplicaRoutingDataSource(
+          final DataSource primary,
+          final DataSource replica,
+          final Duration maxLag,
+          final Duration retryAfter) {
+    this(primary, replica, maxLag, retryAfter, System::nanoTime);
+  }
+
+  ReplicaRoutingDataSource(
+          final DataSource primary,
+          final DataSource replica,
+          final Duration maxLag,
+          final Duration retryAfter,
+          final LongSupplier nanoClock) {
+    this.primary = primary;
+    this.replica = replica;
+    this.maxLagNanos = maxLag.toNanos();
+    this.retryAfter = retryAfter;
+    this.nanoClock = nanoClock;
+
+    final long now = nanoClock.getAsLong();
+    this.readFromPrimaryUntil = new AtomicLong(now);
+    this.replicaDownUntil = now;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return connect(DataSource::getConnection);
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password)
+          throws SQLException {
+    return connect(it -> it.getConnection(username, password));
+  }
+
+  private Connection connect(final Connector connector) throws SQLException {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return recordingWrites(connector.connect(primary));
+    }
+
+    final long now = nanoClock.getAsLong();
+    if (now - readFromPrimaryUntil.get() < 0 || now - replicaDownUntil < 0) {
+      return connector.connect(primary);
+    }
+
+    try {
+      return connector.connect(replica);
+    } catch (SQLException e) {
+      log.warn("Replica is not available, using primary for {}", retryAfter, e);
+      replicaDownUntil = nanoClock.getAsLong() + retryAfter.toNanos();
+      return connector.connect(primary);
+    }
+  }
+
+  /**
+   * Wraps connection so statements that change data send reads to primary.
+   */
+  private Connection recordingWrites(final Connection connection) {
+    final AtomicBoolean writeRecorded = new AtomicBoolean();
+
+    return (Connection) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+              final Object result = invoke(connection, method, args);
+              if (!(result instanceof Statement)) {
+                return result;
+              }
+
+              return Proxy.newProxyInstance(
+                      getClass().getClassLoader(), new Class<?>[] {method.getReturnType()},
+                      (statementProxy, statementMethod, statementArgs) -> {
+                        if ("getConnection".equals(statementMethod.getName())) {
+                          return proxy;
+                        }
+
+                        final Object statementResult =
+                                invoke(result, statementMethod, statementArgs);
+                        if (isWrite(statementMethod, statementResult)) {
+                          rememberWrite(writeRecorded);
+                        }
+                        return statementResult;
+                      });
+            });
+  }
+
+  private static boolean isWrite(final Method method, final Object result) {
+    // execute returns false when statement gave update count and not result set
+    return WRITE_METHODS.contains(method.getName())
+            || "execute".equals(method.getName()) && Boolean.FALSE.equals(result);
+  }
+
+  /**
+   * Sends reads to primary when current transaction commits, only once per connection. Statement
+   * outside of transaction is committed right away.
+   *
+   * <p>Synchronization runs before all others, because they invalidate caches after commit and
+   * reads that fill caches again must already go to primary. Writes flushed during commit are
+   * registered after other synchronizations, so order matters even when it runs before commit.
+   */
+  private void rememberWrite(final AtomicBoolean writeRecorded) {
+    if (!TransactionSynchronizationManager.isActualTransactionActive()
+            || !TransactionSynchronizationManager.isSynchronizationActive()) {
+      readFromPrimaryAfterWrite();
+      return;
+    }
+
+    if (!writeRecorded.compareAndSet(false, true)) {
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronizationAdapter() {
+              @Override
+              public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+              }
+
+              @Override
+              public void beforeCommit(final boolean readOnly) {
+                readFromPrimaryAfterWrite();
+              }
+
+              @Override
+              public void afterCommit() {
+                readFromPrimaryAfterWrite();
+              }
+            });
+  }
+
+  private void readFromPrimaryAfterWrite() {
+    final long until = nanoClock.getAsLong() + maxLagNanos;
+    readFromPrimaryUntil.accumulateAndGet(
+            until, (current, next) -> next - current > 0 ? next : current);
+  }
+
+  private static Object invoke(final Object target, final Method method, final Object[] args)
+          throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+
+  @FunctionalInterface
+  private interface Connector {
+    Connection connect(DataSource dataSource) throws SQLException;
+  }
+}
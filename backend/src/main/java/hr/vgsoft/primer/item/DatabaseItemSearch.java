@@ -0,0 +1,38 @@
+package hr.vgsoft.primer.item;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Searches with ILIKE that is answered from trigram indexes on name and description (see
+ * migration V1.0.0.006), so substring search doesn't scan whole table.
+ */
+@Component
+@ConditionalOnProperty(name = "custom.items.search", havingValue = "database")
+public class DatabaseItemSearch implements ItemSearch {
+
+  private final ItemRepository itemRepository;
+
+  public DatabaseItemSearch(final ItemRepository itemRepository) {
+    this.itemRepository = itemRepository;
+  }
+
+  @Override
+  public Page<Item> search(final String query, final Pageable pageable) {
+    return itemRepository.searchByNameOrDescription(containsPattern(query),
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+  }
+
+  /**
+   * LIKE pattern that matches query anywhere, wildcards in query are matched literally.
+   */
+  static String containsPattern(final String query) {
+    return "%" + query
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_") + "%";
+  }
+}
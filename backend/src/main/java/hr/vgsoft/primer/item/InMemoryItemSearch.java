@@ -0,0 +1,221 @@
+package hr.vgsoft.primer.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Searches inverted index from trigrams of lower case name and description to items, for
+ * databases without trigram indexes. Candidates are items that have all trigrams of query and
+ * only they are checked for substring. Queries shorter than trigram check every item.
+ *
+ * <p>Index is built from whole table and is valid for one {@link ItemsGeneration}, so it is built
+ * again by first search after items changed. That is fine for development database, production
+ * uses {@link DatabaseItemSearch}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "custom.items.search", havingValue = "memory", matchIfMissing = true)
+public class InMemoryItemSearch implements ItemSearch {
+
+  static final int GRAM = 3;
+
+  private final ItemRepository itemRepository;
+  private final ItemsGeneration itemsGeneration;
+  private final EntityManager entityManager;
+
+  private volatile Index index;
+
+  /**
+   * Creates search that builds its index on first use.
+   *
+   * @param itemRepository Item repository
+   * @param itemsGeneration Items generation that invalidates index
+   * @param entityManager Entity manager used to detach items while index is built
+   */
+  public InMemoryItemSearch(
+          final ItemRepository itemRepository,
+          final ItemsGeneration itemsGeneration,
+          final EntityManager entityManager) {
+    this.itemRepository = itemRepository;
+    this.itemsGeneration = itemsGeneration;
+    this.entityManager = entityManager;
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public Page<Item> search(final String query, final Pageable pageable) {
+    final String lowerQuery = query.toLowerCase(Locale.ROOT);
+    final Index current = currentIndex();
+
+    final List<Entry> matches = new ArrayList<>();
+    for (int position : current.candidates(lowerQuery)) {
+      final Entry entry = current.entries.get(position);
+      if (entry.name.contains(lowerQuery) || entry.description.contains(lowerQuery)) {
+        matches.add(entry);
+      }
+    }
+
+    final Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    final int from = (int) Math.min(unsorted.getOffset(), matches.size());
+    final int to = Math.min(from + unsorted.getPageSize(), matches.size());
+
+    final List<UUID> uuids = matches.subList(from, to).stream()
+            .map(it -> it.uuid)
+            .collect(Collectors.toList());
+    final Map<UUID, Item> items = itemRepository.findAllById(uuids).stream()
+            .collect(Collectors.toMap(Item::getUuid, Function.identity()));
+
+    // Item deleted after index was built is left out of page, but is still counted
+    final List<Item> content = uuids.stream()
+            .map(items::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+
+    return new PageImpl<>(content, unsorted, matches.size());
+  }
+
+  private Index currentIndex() {
+    final Index current = index;
+    if (current != null && current.generation == itemsGeneration.current()) {
+      return current;
+    }
+
+    final long generation = itemsGeneration.current();
+    final Index built = build(generation);
+    itemsGeneration.runIfCurrent(generation, () -> index = built);
+
+    return built;
+  }
+
+  private Index build(final long generation) {
+    final List<Entry> entries = new ArrayList<>();
+    try (Stream<Item> items = itemRepository.streamAllBy()) {
+      items.forEach(it -> {
+        entries.add(new Entry(it.getUuid(), it.getName(),
+                it.getName().toLowerCase(Locale.ROOT),
+                it.getDescription().toLowerCase(Locale.ROOT)));
+        entityManager.detach(it);
+      });
+    }
+    entries.sort(Comparator.<Entry, String>comparing(it -> it.sortName)
+            .thenComparing(it -> it.uuid));
+
+    final Map<String, List<Integer>> postings = new HashMap<>();
+    for (int position = 0; position < entries.size(); position++) {
+      final Entry entry = entries.get(position);
+      final Set<String> grams = new HashSet<>(grams(entry.name));
+      grams.addAll(grams(entry.description));
+      for (String gram : grams) {
+        postings.computeIfAbsent(gram, key -> new ArrayList<>()).add(position);
+      }
+    }
+
+    final Map<String, int[]> compacted = new HashMap<>(postings.size() * 2);
+    postings.forEach((gram, positions) ->
+            compacted.put(gram, positions.stream().mapToInt(Integer::intValue).toArray()));
+
+    log.debug("Built search index of {} items with {} trigrams", entries.size(), compacted.size());
+
+    return new Index(generation, entries, compacted);
+  }
+
+  static List<String> grams(final String text) {
+    final List<String> grams = new ArrayList<>();
+    for (int i = 0; i + GRAM <= text.length(); i++) {
+      grams.add(text.substring(i, i + GRAM));
+    }
+    return grams;
+  }
+
+  private static final class Entry {
+    private final UUID uuid;
+    private final String sortName;
+    private final String name;
+    private final String description;
+
+    private Entry(
+            final UUID uuid, final String sortName, final String name, final String description) {
+      this.uuid = uuid;
+      this.sortName = sortName;
+      this.name = name;
+      this.description = description;
+    }
+  }
+
+  private static final class Index {
+    private final long generation;
+    private final List<Entry> entries;
+    private final Map<String, int[]> postings;
+
+    private Index(
+            final long generation, final List<Entry> entries, final Map<String, int[]> postings) {
+      this.generation = generation;
+      this.entries = entries;
+      this.postings = postings;
+    }
+
+    /**
+     * Positions of entries that contain all trigrams of query, in order of entries.
+     */
+    private int[] candidates(final String lowerQuery) {
+      if (lowerQuery.length() < GRAM) {
+        final int[] all = new int[entries.size()];
+        Arrays.setAll(all, i -> i);
+        return all;
+      }
+
+      int[] candidates = null;
+      for (String gram : new HashSet<>(grams(lowerQuery))) {
+        final int[] positions = postings.get(gram);
+        if (positions == null) {
+          return new int[0];
+        }
+        candidates = candidates == null ? positions : intersect(candidates, positions);
+      }
+      return candidates;
+    }
+
+    private static int[] intersect(final int[] first, final int[] second) {
+      final int[] result = new int[Math.min(first.length, second.length)];
+      int count = 0;
+      int i = 0;
+      int j = 0;
+      while (i < first.length && j < second.length) {
+        if (first[i] < second[j]) {
+          i++;
+        } else if (first[i] > second[j]) {
+          j++;
+        } else {
+          result[count++] = first[i];
+          i++;
+          j++;
+        }
+      }
+      return Arrays.copyOf(result, count);
+    }
+  }
+}
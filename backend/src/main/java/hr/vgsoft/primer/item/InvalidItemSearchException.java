@@ -0,0 +1,12 @@
+package hr.vgsoft.primer.item;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidItemSearchException extends RuntimeException {
+
+  public InvalidItemSearchException(final String message) {
+    super(message);
+  }
+}
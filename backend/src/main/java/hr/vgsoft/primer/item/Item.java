@@ -7,6 +7,7 @@ import java.util.UUID;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import javax.persistence.Version;
 
@@ -14,16 +15,27 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.DynamicUpdate;
 
+/**
+ * Item, also kept in second-level cache. Cached state is replaced only by state with newer
+ * version, so load that started before update can't overwrite updated item.
+ */
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Item.CACHE_REGION)
 @Data
 @DynamicUpdate
 @Entity
 @NoArgsConstructor
 @Setter
-@Table(name = "items")
+@Table(
+        name = "items",
+        indexes = @Index(name = "items_name_uuid_idx", columnList = "name, uuid"))
 public class Item implements Serializable {
 
+  public static final String CACHE_REGION = "item-entity";
+
   @Id
   @Column
   private UUID uuid;
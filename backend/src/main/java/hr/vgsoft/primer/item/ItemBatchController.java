@@ -0,0 +1,62 @@
+package hr.vgsoft.primer.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hr.vgsoft.primer.configuration.OptionalAsync;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@OptionalAsync
+@RestController
+@RequestMapping(ItemController.ITEMS_PATH)
+public class ItemBatchController {
+
+  static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+  private final ItemBatchService itemBatchService;
+  private final ObjectReader operationReader;
+
+  public ItemBatchController(
+          final ItemBatchService itemBatchService, final ObjectMapper objectMapper) {
+    this.itemBatchService = itemBatchService;
+    this.operationReader = objectMapper.readerFor(ItemBatchOperation.class);
+  }
+
+  /**
+   * Applies batch of item operations. Body is JSON array or NDJSON with one operation per line,
+   * in both cases operations are parsed while batch is applied. Body that can't be read at all
+   * gets 400, unreadable operation later in body gets 400 result of its own.
+   *
+   * @param body Request body
+   * @return Result for every operation
+   * @throws IOException if body can't be read
+   */
+  @PostMapping(
+          value = "/batch",
+          consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE},
+          produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<List<ItemBatchResult>> applyBatch(final InputStream body)
+          throws IOException {
+
+    // Reader handles both values in root level array and values separated by new lines
+    final MappingIterator<ItemBatchOperation> operations;
+    try {
+      operations = operationReader.readValues(body);
+    } catch (JsonProcessingException e) {
+      return ResponseEntity.badRequest().body(List.of(new ItemBatchResult(
+              0, null, HttpStatus.BAD_REQUEST.value(), "Batch could not be read")));
+    }
+
+    return ResponseEntity.ok(itemBatchService.apply(operations));
+  }
+}
@@ -0,0 +1,34 @@
+package hr.vgsoft.primer.item;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One operation in batch. Operation without type is create, so {@link NewItemModel} can be sent
+ * as is.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBatchOperation {
+
+  public enum Type {
+    CREATE,
+    UPDATE,
+    DELETE
+  }
+
+  private Type operation = Type.CREATE;
+
+  /**
+   * Uuid of item to update or delete.
+   */
+  private UUID id;
+
+  private String name;
+
+  private String description;
+}
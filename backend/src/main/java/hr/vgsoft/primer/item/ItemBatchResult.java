@@ -0,0 +1,14 @@
+package hr.vgsoft.primer.item;
+
+import lombok.Value;
+
+/**
+ * Result of one operation in batch. Index is position of operation in request.
+ */
+@Value
+public class ItemBatchResult {
+  int index;
+  String id;
+  int status;
+  String message;
+}
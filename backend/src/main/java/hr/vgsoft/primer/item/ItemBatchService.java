@@ -0,0 +1,279 @@
+package hr.vgsoft.primer.item;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+/**
+ * Applies many item operations in chunks. Every chunk is one transaction and statements of chunk
+ * are sent to database in JDBC batches (see {@code hibernate.jdbc.batch_size}). Failed chunk is
+ * rolled back and doesn't stop other chunks. Caches are invalidated once, after last chunk, also
+ * when batch is stopped by unreadable or unexpected failure.
+ */
+@Slf4j
+@Service
+public class ItemBatchService {
+
+  static final int MAX_TEXT_LENGTH = 100;
+
+  private final ItemRepository itemRepository;
+  private final ItemPageCache itemPageCache;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+  private final Cache itemCache;
+  private final Cache itemVersionCache;
+  private final int chunkSize;
+
+  /**
+   * Service for batches of item operations.
+   *
+   * @param itemRepository Item repository
+   * @param itemPageCache Cache of item pages
+   * @param entityManager Entity manager
+   * @param transactionManager Transaction manager used for transaction of every chunk
+   * @param cacheManager Cache manager with item and itemVersion caches
+   * @param chunkSize Number of operations in one transaction
+   */
+  public ItemBatchService(
+          final ItemRepository itemRepository,
+          final ItemPageCache itemPageCache,
+          final EntityManager entityManager,
+          final PlatformTransactionManager transactionManager,
+          final CacheManager cacheManager,
+          @Value("${custom.items.batch-chunk-size:500}") final int chunkSize) {
+    this.itemRepository = itemRepository;
+    this.itemPageCache = itemPageCache;
+    this.entityManager = entityManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.itemCache = cacheManager.getCache("item");
+    this.itemVersionCache = cacheManager.getCache("itemVersion");
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Applies operations in order. Operations are read from iterator one chunk at a time, so whole
+   * batch doesn't have to be in memory. When operation can't be read, operations before it are
+   * applied, the rest of batch is skipped and unreadable operation gets 400 result.
+   *
+   * @param operations Operations to apply
+   * @return Result for every operation
+   */
+  public List<ItemBatchResult> apply(final Iterator<ItemBatchOperation> operations) {
+    final List<ItemBatchResult> results = new ArrayList<>();
+    final Changes changes = new Changes();
+
+    // Committed chunks are invalidated even if later chunk fails unexpectedly
+    try {
+      final List<ItemBatchOperation> chunk = new ArrayList<>(chunkSize);
+      RuntimeException readFailure = null;
+      while (readFailure == null) {
+        try {
+          if (!operations.hasNext()) {
+            break;
+          }
+          chunk.add(operations.next());
+        } catch (RuntimeException e) {
+          readFailure = e;
+        }
+
+        if (chunk.size() == chunkSize) {
+          results.addAll(applyChunk(chunk, results.size(), changes));
+          chunk.clear();
+        }
+      }
+
+      if (!chunk.isEmpty()) {
+        results.addAll(applyChunk(chunk, results.size(), changes));
+      }
+
+      if (readFailure != null) {
+        log.warn("Operation {} of batch could not be read", results.size(), readFailure);
+        results.add(new ItemBatchResult(results.size(), null, HttpStatus.BAD_REQUEST.value(),
+                "Operation could not be read, " + results.size()
+                        + " operations before it were processed and the rest were skipped"));
+      }
+    } finally {
+      invalidate(changes);
+    }
+
+    log.debug("Applied batch with {} operations, {} inserted, {} deleted",
+            results.size(), changes.inserted, changes.deleted);
+
+    return results;
+  }
+
+  private void invalidate(final Changes changes) {
+    if (changes.hasChanges()) {
+      itemPageCache.itemsChanged(changes.inserted - changes.deleted);
+      changes.changedUuids.forEach(it -> {
+        itemCache.evict(it);
+        itemVersionCache.evict(it);
+      });
+    }
+  }
+
+  private List<ItemBatchResult> applyChunk(
+          final List<ItemBatchOperation> chunk, final int firstIndex, final Changes changes) {
+
+    final Changes chunkChanges = new Changes();
+
+    try {
+      final List<ItemBatchResult> results = transactionTemplate.execute(status -> {
+        final List<ItemBatchResult> chunkResults = new ArrayList<>(chunk.size());
+        final Map<UUID, Item> existing = findExisting(chunk);
+
+        for (int i = 0; i < chunk.size(); i++) {
+          chunkResults.add(applyOperation(firstIndex + i, chunk.get(i), existing, chunkChanges));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        return chunkResults;
+      });
+
+      changes.add(chunkChanges);
+
+      return results;
+    } catch (DataAccessException | PersistenceException | TransactionException e) {
+      log.warn("Chunk starting at {} was rolled back", firstIndex, e);
+
+      final List<ItemBatchResult> results = new ArrayList<>(chunk.size());
+      for (int i = 0; i < chunk.size(); i++) {
+        results.add(new ItemBatchResult(firstIndex + i, null,
+                HttpStatus.INTERNAL_SERVER_ERROR.value(), "Chunk was rolled back"));
+      }
+      return results;
+    }
+  }
+
+  /**
+   * Loads all items that are updated or deleted in chunk with one query.
+   */
+  private Map<UUID, Item> findExisting(final List<ItemBatchOperation> chunk) {
+    final Set<UUID> uuids = chunk.stream()
+            .filter(it -> it.getOperation() != ItemBatchOperation.Type.CREATE)
+            .map(ItemBatchOperation::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+
+    if (uuids.isEmpty()) {
+      return new HashMap<>();
+    }
+
+    return itemRepository.findAllById(uuids).stream()
+            .collect(Collectors.toMap(Item::getUuid, Function.identity()));
+  }
+
+  private ItemBatchResult applyOperation(
+          final int index,
+          final ItemBatchOperation operation,
+          final Map<UUID, Item> existing,
+          final Changes changes) {
+
+    final String id = operation.getId() == null ? null : operation.getId().toString();
+    final String invalid = validate(operation);
+    if (invalid != null) {
+      return new ItemBatchResult(index, id, HttpStatus.BAD_REQUEST.value(), invalid);
+    }
+
+    switch (operation.getOperation()) {
+      case CREATE:
+        // persist and not save, save would select item first because it has assigned uuid
+        final Item newItem =
+                new Item(UUID.randomUUID(), operation.getName(), operation.getDescription());
+        entityManager.persist(newItem);
+        changes.inserted++;
+        return new ItemBatchResult(
+                index, newItem.getUuid().toString(), HttpStatus.CREATED.value(), null);
+
+      case UPDATE:
+        final Item item = existing.get(operation.getId());
+        if (item == null) {
+          return notFound(index, id);
+        }
+        item.setName(operation.getName());
+        item.setDescription(operation.getDescription());
+        changes.changedUuids.add(item.getUuid());
+        return new ItemBatchResult(index, id, HttpStatus.OK.value(), null);
+
+      case DELETE:
+        final Item deleted = existing.remove(operation.getId());
+        if (deleted == null) {
+          return notFound(index, id);
+        }
+        entityManager.remove(deleted);
+        changes.deleted++;
+        changes.changedUuids.add(deleted.getUuid());
+        return new ItemBatchResult(index, id, HttpStatus.OK.value(), null);
+
+      default:
+        throw new IllegalStateException("Unknown operation " + operation.getOperation());
+    }
+  }
+
+  private static String validate(final ItemBatchOperation operation) {
+    if (operation.getOperation() == null) {
+      return "operation must not be null";
+    }
+    if (operation.getOperation() != ItemBatchOperation.Type.CREATE && operation.getId() == null) {
+      return "id must not be null";
+    }
+    if (operation.getOperation() == ItemBatchOperation.Type.DELETE) {
+      return null;
+    }
+    if (!StringUtils.hasLength(operation.getName())
+            || !StringUtils.hasLength(operation.getDescription())) {
+      return "name and description must not be empty";
+    }
+    if (operation.getName().length() > MAX_TEXT_LENGTH
+            || operation.getDescription().length() > MAX_TEXT_LENGTH) {
+      return "name and description must not be longer than " + MAX_TEXT_LENGTH;
+    }
+    return null;
+  }
+
+  private static ItemBatchResult notFound(final int index, final String id) {
+    return new ItemBatchResult(index, id, HttpStatus.NOT_FOUND.value(), "Item not found");
+  }
+
+  private static class Changes {
+    private long inserted;
+    private long deleted;
+    private final Set<UUID> changedUuids = new HashSet<>();
+
+    private void add(final Changes changes) {
+      inserted += changes.inserted;
+      deleted += changes.deleted;
+      changedUuids.addAll(changes.changedUuids);
+    }
+
+    private boolean hasChanges() {
+      return inserted > 0 || !changedUuids.isEmpty();
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package hr.vgsoft.primer.item;
+
+import java.util.UUID;
+
+/**
+ * Writes of item that are applied only if item still has expected version. Check and write are
+ * one statement, so no other write can come between them.
+ */
+public interface ItemConditionalWrites {
+
+  /**
+   * Updates name and description and increments version of item, only if item still has expected
+   * version. Second-level cache is not changed, caller evicts the item.
+   *
+   * @param uuid Item uuid
+   * @param version Expected version
+   * @param name New name
+   * @param description New description
+   * @return Number of updated items, 0 if item doesn't exist or has other version
+   */
+  int updateIfVersion(UUID uuid, int version, String name, String description);
+
+  /**
+   * Deletes item only if it still has expected version. Second-level cache is not changed, caller
+   * evicts the item.
+   *
+   * @param uuid Item uuid
+   * @param version Expected version
+   * @return Number of deleted items, 0 if item doesn't exist or has other version
+   */
+  int deleteIfVersion(UUID uuid, int version);
+}
@@ -0,0 +1,51 @@
+package hr.vgsoft.primer.item;
+
+import java.util.UUID;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Conditional writes as native statements. Hibernate evicts whole second-level cache region of
+ * entity after bulk JPQL statement, native statement with empty query space evicts nothing.
+ */
+@Transactional
+public class ItemConditionalWritesImpl implements ItemConditionalWrites {
+
+  private static final String UPDATE_IF_VERSION = "UPDATE items "
+          + "SET name = :name, description = :description, version = version + 1 "
+          + "WHERE uuid = :uuid AND version = :version";
+
+  private static final String DELETE_IF_VERSION =
+          "DELETE FROM items WHERE uuid = :uuid AND version = :version";
+
+  private final EntityManager entityManager;
+
+  public ItemConditionalWritesImpl(final EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public int updateIfVersion(
+          final UUID uuid, final int version, final String name, final String description) {
+    return statement(UPDATE_IF_VERSION, uuid, version)
+            .setParameter("name", name)
+            .setParameter("description", description)
+            .executeUpdate();
+  }
+
+  @Override
+  public int deleteIfVersion(final UUID uuid, final int version) {
+    return statement(DELETE_IF_VERSION, uuid, version).executeUpdate();
+  }
+
+  private NativeQuery<?> statement(final String sql, final UUID uuid, final int version) {
+    return entityManager.createNativeQuery(sql)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace("")
+            .setParameter("uuid", uuid)
+            .setParameter("version", version);
+  }
+}
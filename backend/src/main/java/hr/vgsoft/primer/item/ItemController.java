@@ -1,11 +1,12 @@
 package hr.vgsoft.primer.item;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectOutputStream;
+import hr.vgsoft.primer.configuration.OptionalAsync;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.validation.Valid;
 
@@ -13,18 +14,20 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.server.ExposesResourceFor;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -33,41 +36,88 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
+@OptionalAsync
 @RestController
-@RequestMapping("/api/items")
+@RequestMapping(ItemController.ITEMS_PATH)
 @ExposesResourceFor(Item.class)
 public class ItemController {
 
+  static final String ITEMS_PATH = "/api/items";
+
+  static final int MAX_SLICE_SIZE = 2000;
+
+  static final int MAX_QUERY_LENGTH = 100;
+
+  private static final int NO_VERSION = -1;
+
   private final ItemService itemService;
   private final ItemModelAssembler itemModelAssembler;
+  private final ItemsGeneration itemsGeneration;
+  private final ItemPageFingerprints itemPageFingerprints;
+
+  private final Counter pageNotModified;
+  private final Counter pageModified;
+  private final Counter itemNotModified;
+  private final Counter itemModified;
+  private final Counter searchNotModified;
+  private final Counter searchModified;
 
   public ItemController(
-          final ItemService itemService, final ItemModelAssembler itemModelAssembler) {
+          final ItemService itemService, final ItemModelAssembler itemModelAssembler,
+          final ItemsGeneration itemsGeneration, final ItemPageFingerprints itemPageFingerprints,
+          final MeterRegistry meterRegistry) {
     this.itemService = itemService;
     this.itemModelAssembler = itemModelAssembler;
+    this.itemsGeneration = itemsGeneration;
+    this.itemPageFingerprints = itemPageFingerprints;
+
+    this.pageNotModified = etagCounter(meterRegistry, "page", "not-modified");
+    this.pageModified = etagCounter(meterRegistry, "page", "modified");
+    this.itemNotModified = etagCounter(meterRegistry, "item", "not-modified");
+    this.itemModified = etagCounter(meterRegistry, "item", "modified");
+    this.searchNotModified = etagCounter(meterRegistry, "search", "not-modified");
+    this.searchModified = etagCounter(meterRegistry, "search", "modified");
   }
 
   @GetMapping
   public ResponseEntity<PagedModel<ItemModel>> findAllItems(
           final Pageable pageable, final PagedResourcesAssembler<Item> assembler,
-          @RequestHeader final HttpHeaders headers) throws IOException {
+          @RequestHeader final HttpHeaders headers) {
 
     log.debug("If-None-Match: {}", headers.getIfNoneMatch() );
     final Optional<String> receivedEtag = headers.getIfNoneMatch().stream().findFirst();
 
+    if (receivedEtag.isPresent()) {
+      final Optional<String> knownEtag = itemPageFingerprints.lookup(pageable);
+
+      if (knownEtag.isPresent() && etagsMatching(receivedEtag.get(), knownEtag.get())) {
+        pageNotModified.increment();
+        return ResponseEntity
+                .status(HttpStatus.NOT_MODIFIED)
+                .eTag(knownEtag.get())
+                .build();
+      }
+    }
+
+    final long generation = itemsGeneration.current();
     final Page<Item> items = itemService.findAll(pageable);
 
-    String calculatedEtag = getEtagFromPageOfItems(items);
+    String calculatedEtag = itemPageFingerprints.remember(pageable, generation, items);
 
     if (etagsMatching(receivedEtag.orElse("\"NOT-ETAG\""), calculatedEtag)) {
+      pageNotModified.increment();
       return ResponseEntity
               .status(HttpStatus.NOT_MODIFIED)
               .eTag(calculatedEtag)
               .build();
     }
+    if (receivedEtag.isPresent()) {
+      pageModified.increment();
+    }
 
     return ResponseEntity.ok()
             .cacheControl(CacheControl.maxAge(30, TimeUnit.DAYS))
@@ -76,6 +126,91 @@ public class ItemController {
             ;
   }
 
+  /**
+   * Returns items ordered by name and uuid that are after cursor. Cost of request is same for
+   * every position because items before cursor are not counted nor skipped. Link to next items
+   * is returned only if there are more items.
+   *
+   * @param after Cursor from next link, or empty string for first items
+   * @param size Number of items to return
+   * @return Items after cursor
+   */
+  @GetMapping(params = "after")
+  public ResponseEntity<CollectionModel<ItemModel>> findAllItemsAfter(
+          @RequestParam final String after, @RequestParam(defaultValue = "20") final int size) {
+
+    final ItemCursor cursor = after.isEmpty() ? null : ItemCursor.decode(after);
+    final int limitedSize = Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+
+    final Slice<Item> items = itemService.findAllAfter(cursor, limitedSize);
+
+    final CollectionModel<ItemModel> itemModels = new CollectionModel<>(
+            items.getContent().stream()
+                    .map(itemModelAssembler::toModel)
+                    .collect(Collectors.toList()),
+            WebMvcLinkBuilder
+                    .linkTo(WebMvcLinkBuilder.methodOn(ItemController.class)
+                            .findAllItemsAfter(after, limitedSize))
+                    .withSelfRel());
+
+    if (items.hasNext()) {
+      final Item last = items.getContent().get(items.getNumberOfElements() - 1);
+
+      itemModels.add(WebMvcLinkBuilder
+              .linkTo(WebMvcLinkBuilder.methodOn(ItemController.class)
+                      .findAllItemsAfter(ItemCursor.of(last).encode(), limitedSize))
+              .withRel(IanaLinkRelations.NEXT));
+    }
+
+    return ResponseEntity.ok(itemModels);
+  }
+
+  /**
+   * Finds items whose name or description contains query. Page has ETag calculated from query
+   * and found items, and it must be revalidated because any write can change results.
+   *
+   * @param q Text to find, 1 to {@value #MAX_QUERY_LENGTH} characters
+   * @param pageable Requested page, results are always ordered by name and uuid
+   * @param assembler Assembler of page links
+   * @param headers Request headers
+   * @return Page of found items
+   */
+  @GetMapping("/search")
+  public ResponseEntity<PagedModel<ItemModel>> searchItems(
+          @RequestParam final String q, final Pageable pageable,
+          final PagedResourcesAssembler<Item> assembler,
+          @RequestHeader final HttpHeaders headers) {
+
+    final String query = q.strip();
+    if (query.isEmpty() || query.length() > MAX_QUERY_LENGTH) {
+      throw new InvalidItemSearchException(
+              "q must have from 1 to " + MAX_QUERY_LENGTH + " characters");
+    }
+
+    final Page<Item> items = itemService.search(query, pageable);
+    final String calculatedEtag = ItemPageFingerprints.calculate(items, query);
+
+    final Optional<String> receivedEtag = headers.getIfNoneMatch().stream().findFirst();
+    if (receivedEtag.isPresent()) {
+      if (etagsMatching(receivedEtag.get(), calculatedEtag)) {
+        searchNotModified.increment();
+        return ResponseEntity
+                .status(HttpStatus.NOT_MODIFIED)
+                .eTag(calculatedEtag)
+                .build();
+      }
+      searchModified.increment();
+    }
+
+    return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(calculatedEtag)
+            .body(assembler.toModel(items, itemModelAssembler, WebMvcLinkBuilder
+                    .linkTo(WebMvcLinkBuilder.methodOn(ItemController.class)
+                            .searchItems(query, null, null, null))
+                    .withSelfRel()));
+  }
+
   @PostMapping
   public ResponseEntity<?> newItem(@RequestBody @Valid final NewItemModel newItemModel) {
 
@@ -91,6 +226,14 @@ public class ItemController {
     return ResponseEntity.created(link.get().toUri()).build();
   }
 
+  /**
+   * Finds item. Item has ETag of its version and must be revalidated, which only reads version
+   * when If-None-Match is sent.
+   *
+   * @param itemUuid Item uuid
+   * @param headers Request headers
+   * @return Item, or 304 if it was not changed
+   */
   @GetMapping(
           value = "/{itemUuid}",
           produces = {MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
@@ -100,31 +243,56 @@ public class ItemController {
     log.debug("If-None-Match: {}", headers.getIfNoneMatch() );
     final Optional<String> receivedEtag = headers.getIfNoneMatch().stream().findFirst();
 
+    if (receivedEtag.isPresent()) {
+      final String currentEtag = getEtagFromVersion(itemService.getItemVersionByUuid(itemUuid));
+      log.debug("Current etag: {}", currentEtag);
+
+      if (etagsMatching(receivedEtag.get(), currentEtag)) {
+        itemNotModified.increment();
+        return ResponseEntity
+                .status(HttpStatus.NOT_MODIFIED)
+                .eTag(currentEtag)
+                .build();
+      }
+      itemModified.increment();
+    }
+
     final Item item = itemService.getItemByUuid(itemUuid);
 
-    String calculatedEtag = getEtagFromItem(item);
+    String calculatedEtag = getEtagFromVersion(item.getVersion());
     log.debug("Calculated etag: {}", calculatedEtag);
 
-    if (etagsMatching(receivedEtag.orElse("\"NOT-ETAG\""), calculatedEtag)) {
-      return ResponseEntity
-              .status(HttpStatus.NOT_MODIFIED)
-              .eTag(calculatedEtag)
-              .build();
-    }
-
     final ItemModel itemModel = new ItemModel(item);
 
-
+    // Revalidated on every use, so client always has current ETag for If-Match
     return ResponseEntity.ok()
-            .cacheControl(CacheControl.maxAge(30, TimeUnit.DAYS))
+            .cacheControl(CacheControl.noCache())
             .eTag(calculatedEtag)
             .body(itemModel)
             ;
   }
 
+  /**
+   * Updates item. With {@code If-Match} header that has ETag from {@link #findItem} item is
+   * updated only if it was not changed in between, check and update are one statement.
+   *
+   * @param itemUuid Item uuid
+   * @param updateItem New name and description
+   * @param headers Request headers
+   * @return 200 with ETag of new version when If-Match was sent, 412 if item was changed
+   */
   @PutMapping(value = "/{itemUuid}")
   public ResponseEntity<?> updateItem(
-          @PathVariable final UUID itemUuid, @RequestBody @Valid final NewItemModel updateItem) {
+          @PathVariable final UUID itemUuid, @RequestBody @Valid final NewItemModel updateItem,
+          @RequestHeader final HttpHeaders headers) {
+
+    final Optional<String> receivedEtag = getIfMatch(headers);
+    if (receivedEtag.isPresent()) {
+      final int version = itemService.updateItemIfVersion(
+              itemUuid, updateItem, getVersionFromEtag(receivedEtag.get()));
+
+      return ResponseEntity.ok().eTag(getEtagFromVersion(version)).build();
+    }
 
     itemService.updateItem(itemUuid, updateItem);
 
@@ -132,8 +300,24 @@ public class ItemController {
     return ResponseEntity.ok().build();
   }
 
+  /**
+   * Deletes item. With {@code If-Match} header item is deleted only if it was not changed since
+   * client got its ETag.
+   *
+   * @param itemUuid Item uuid
+   * @param headers Request headers
+   * @return 200, or 412 if item was changed
+   */
   @DeleteMapping(value = "/{itemUuid}")
-  public ResponseEntity<?> deleteItem(@PathVariable final UUID itemUuid) {
+  public ResponseEntity<?> deleteItem(
+          @PathVariable final UUID itemUuid, @RequestHeader final HttpHeaders headers) {
+
+    final Optional<String> receivedEtag = getIfMatch(headers);
+    if (receivedEtag.isPresent()) {
+      itemService.deleteItemIfVersion(itemUuid, getVersionFromEtag(receivedEtag.get()));
+
+      return ResponseEntity.ok().build();
+    }
 
     itemService.deleteItem(itemUuid);
 
@@ -141,16 +325,47 @@ public class ItemController {
     return ResponseEntity.ok().build();
   }
 
-  private String getEtagFromItem(final Item item) {
-    return DigestUtils.md5DigestAsHex(item.getVersion().toString().getBytes());
+  private static Counter etagCounter(
+          final MeterRegistry meterRegistry, final String resource, final String result) {
+    return Counter.builder("items.etag.checks")
+            .description("Conditional item requests by result of If-None-Match check")
+            .tag("resource", resource)
+            .tag("result", result)
+            .register(meterRegistry);
   }
 
-  private String getEtagFromPageOfItems(final Page<Item> items) throws IOException {
-    ByteArrayOutputStream bos = new ByteArrayOutputStream();
-    ObjectOutputStream oos = new ObjectOutputStream(bos);
-    oos.writeObject(items);
+  /**
+   * ETag of item is its version, so conditional write can check version in database without
+   * loading item first.
+   */
+  static String getEtagFromVersion(final Integer version) {
+    return version.toString();
+  }
+
+  /**
+   * Returns version from ETag, or version that no item has if ETag is weak or was not issued by
+   * {@link #getEtagFromVersion}.
+   */
+  static int getVersionFromEtag(final String etag) {
+    if (etag.length() < 3 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+      return NO_VERSION;
+    }
+
+    try {
+      return Integer.parseInt(etag.substring(1, etag.length() - 1));
+    } catch (NumberFormatException e) {
+      return NO_VERSION;
+    }
+  }
 
-    return DigestUtils.md5DigestAsHex(bos.toByteArray());
+  /**
+   * First ETag from If-Match header, {@code *} matches any existing item so it is same as no
+   * condition.
+   */
+  private static Optional<String> getIfMatch(final HttpHeaders headers) {
+    return headers.getIfMatch().stream()
+            .findFirst()
+            .filter(it -> !"*".equals(it));
   }
 
   private boolean etagsMatching(String receivedEtag, final String calculatedEtag) {
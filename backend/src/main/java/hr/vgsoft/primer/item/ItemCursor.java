@@ -0,0 +1,54 @@
+package hr.vgsoft.primer.item;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import lombok.Value;
+
+/**
+ * Position in items ordered by name and uuid. Client gets cursor as opaque string and sends it
+ * back to get items that are after it.
+ */
+@Value
+public class ItemCursor {
+
+  private static final int UUID_LENGTH = 36;
+
+  String name;
+  UUID uuid;
+
+  public static ItemCursor of(final Item item) {
+    return new ItemCursor(item.getName(), item.getUuid());
+  }
+
+  /**
+   * Decodes cursor created with {@link #encode()}.
+   *
+   * @param cursor Encoded cursor
+   * @return Decoded cursor
+   * @throws InvalidItemCursorException if cursor was not created by {@link #encode()}
+   */
+  public static ItemCursor decode(final String cursor) {
+    try {
+      final String decoded =
+              new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+      return new ItemCursor(
+              decoded.substring(UUID_LENGTH),
+              UUID.fromString(decoded.substring(0, UUID_LENGTH)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new InvalidItemCursorException(cursor, e);
+    }
+  }
+
+  /**
+   * Encodes cursor as URL safe string.
+   *
+   * @return Encoded cursor
+   */
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((uuid.toString() + name).getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,63 @@
+package hr.vgsoft.primer.item;
+
+import hr.vgsoft.primer.configuration.AsyncRequestTimeoutInterceptor;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping(ItemController.ITEMS_PATH)
+public class ItemExportController {
+
+  private final ItemExportService itemExportService;
+  private final Duration exportTimeout;
+
+  public ItemExportController(
+          final ItemExportService itemExportService,
+          @Value("${custom.items.export-timeout:30m}") final Duration exportTimeout) {
+    this.itemExportService = itemExportService;
+    this.exportTimeout = exportTimeout;
+  }
+
+  /**
+   * Streams all items as NDJSON (one item per line) or CSV. Response is written on async thread
+   * while items are read from database, nothing is collected in memory. Only this request gets
+   * long export timeout, other async requests keep the default.
+   *
+   * @param format ndjson or csv
+   * @param request Current request
+   * @return Streamed items, or bad request if format is not supported
+   */
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportItems(
+          @RequestParam(defaultValue = "ndjson") final String format,
+          final NativeWebRequest request) {
+
+    final Optional<ItemExportFormat> exportFormat = ItemExportFormat.fromParameter(format);
+
+    if (exportFormat.isEmpty()) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    final ContentDisposition contentDisposition = ContentDisposition.builder("attachment")
+            .filename("items." + exportFormat.get().getExtension())
+            .build();
+
+    AsyncRequestTimeoutInterceptor.setTimeout(request, exportTimeout);
+
+    return ResponseEntity.ok()
+            .contentType(exportFormat.get().getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+            .body(outputStream -> itemExportService.export(exportFormat.get(), outputStream));
+  }
+}
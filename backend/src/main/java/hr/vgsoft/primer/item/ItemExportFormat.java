@@ -0,0 +1,37 @@
+package hr.vgsoft.primer.item;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import lombok.Getter;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formats of items export.
+ */
+@Getter
+public enum ItemExportFormat {
+  NDJSON(MediaType.valueOf("application/x-ndjson"), "ndjson"),
+  CSV(MediaType.valueOf("text/csv;charset=UTF-8"), "csv");
+
+  private final MediaType mediaType;
+  private final String extension;
+
+  ItemExportFormat(final MediaType mediaType, final String extension) {
+    this.mediaType = mediaType;
+    this.extension = extension;
+  }
+
+  /**
+   * Finds format by its extension, case is ignored.
+   *
+   * @param parameter Value of format request parameter
+   * @return Format or Optional.empty if format is not supported
+   */
+  public static Optional<ItemExportFormat> fromParameter(final String parameter) {
+    return Arrays.stream(values())
+            .filter(it -> it.extension.equalsIgnoreCase(parameter))
+            .findFirst();
+  }
+}
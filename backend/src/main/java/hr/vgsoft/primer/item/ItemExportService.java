@@ -0,0 +1,152 @@
+package hr.vgsoft.primer.item;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes all items to output stream. Items are read from database cursor and written one by one,
+ * so memory used doesn't depend on number of items.
+ */
+@Slf4j
+@Service
+public class ItemExportService {
+
+  static final String CSV_HEADER = "uuid,name,description,version";
+
+  private final ItemRepository itemRepository;
+  private final EntityManager entityManager;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Service for export of all items.
+   *
+   * @param itemRepository Item repository
+   * @param entityManager Entity manager, used to detach written items
+   * @param objectMapper Object mapper whose factory creates JSON generator
+   */
+  public ItemExportService(
+          final ItemRepository itemRepository,
+          final EntityManager entityManager,
+          final ObjectMapper objectMapper) {
+    this.itemRepository = itemRepository;
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Writes all items in given format. Output stream is flushed but not closed.
+   *
+   * @param format Export format
+   * @param outputStream Stream items are written to
+   * @return Number of written items
+   * @throws IOException if writing fails
+   */
+  @Transactional(readOnly = true)
+  public long export(final ItemExportFormat format, final OutputStream outputStream)
+          throws IOException {
+
+    final long count;
+    try (Stream<Item> items = itemRepository.streamAllBy()) {
+      switch (format) {
+        case NDJSON:
+          count = writeNdjson(items.iterator(), outputStream);
+          break;
+        case CSV:
+          count = writeCsv(items.iterator(), outputStream);
+          break;
+        default:
+          throw new IllegalStateException("Unknown export format " + format);
+      }
+    }
+
+    log.debug("Exported {} items as {}", count, format);
+
+    return count;
+  }
+
+  private long writeNdjson(final Iterator<Item> items, final OutputStream outputStream)
+          throws IOException {
+
+    long count = 0;
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+
+      while (items.hasNext()) {
+        final Item item = items.next();
+
+        generator.writeStartObject();
+        generator.writeStringField("uuid", item.getUuid().toString());
+        generator.writeStringField("name", item.getName());
+        generator.writeStringField("description", item.getDescription());
+        generator.writeNumberField("version", item.getVersion());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+
+        entityManager.detach(item);
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private long writeCsv(final Iterator<Item> items, final OutputStream outputStream)
+          throws IOException {
+
+    final Writer writer = new BufferedWriter(
+            new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+    writer.write(CSV_HEADER);
+    writer.write("\r\n");
+
+    long count = 0;
+    while (items.hasNext()) {
+      final Item item = items.next();
+
+      writer.write(item.getUuid().toString());
+      writer.write(',');
+      writeCsvValue(writer, item.getName());
+      writer.write(',');
+      writeCsvValue(writer, item.getDescription());
+      writer.write(',');
+      writer.write(String.valueOf(item.getVersion()));
+      writer.write("\r\n");
+
+      entityManager.detach(item);
+      count++;
+    }
+
+    writer.flush();
+    return count;
+  }
+
+  /**
+   * Writes value quoted as described in RFC 4180 if it contains separator, quote or new line.
+   */
+  private static void writeCsvValue(final Writer writer, final String value) throws IOException {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+            && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      writer.write(value);
+      return;
+    }
+
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+}
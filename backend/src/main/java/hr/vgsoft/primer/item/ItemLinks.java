@@ -0,0 +1,53 @@
+package hr.vgsoft.primer.item;
+
+import java.util.UUID;
+
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Builds links to items from precomputed templates. Same link built with
+ * {@code WebMvcLinkBuilder.linkTo(methodOn(...))} creates proxy of controller and expands URI
+ * template for every item, here only uuid is appended to base URI of current request.
+ *
+ * <p>Base URI is taken from current request in same way as {@code WebMvcLinkBuilder} does it, so
+ * forwarded headers and context path are respected, and it is calculated once per request.
+ */
+final class ItemLinks {
+
+  private static final String BASE_URI_ATTRIBUTE = ItemLinks.class.getName() + ".BASE_URI";
+
+  private static final String ITEM_PATH_PREFIX = ItemController.ITEMS_PATH + "/";
+
+  private ItemLinks() {
+  }
+
+  /**
+   * Self link of item, same as link to {@link ItemController#findItem}.
+   *
+   * @param uuid Item uuid
+   * @return Self link
+   */
+  static Link selfLink(final UUID uuid) {
+    return new Link(baseUri() + ITEM_PATH_PREFIX + uuid, IanaLinkRelations.SELF);
+  }
+
+  private static String baseUri() {
+    final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    if (requestAttributes == null) {
+      return "";
+    }
+
+    String baseUri = (String) requestAttributes.getAttribute(
+            BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (baseUri == null) {
+      baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+      requestAttributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    return baseUri;
+  }
+}
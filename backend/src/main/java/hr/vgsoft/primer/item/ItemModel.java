@@ -3,10 +3,8 @@ package hr.vgsoft.primer.item;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 
-import org.springframework.hateoas.Link;
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.hateoas.server.core.Relation;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 
 @EqualsAndHashCode(callSuper = true)
 @Value
@@ -21,13 +19,6 @@ public class ItemModel extends RepresentationModel<ItemModel> {
     this.name = item.getName();
     this.description = item.getDescription();
 
-    @SuppressWarnings("ConstantConditions")
-    final Link selfRelLink = WebMvcLinkBuilder
-            .linkTo(WebMvcLinkBuilder.methodOn(ItemController.class).findItem(item.getUuid(), null))
-            .withSelfRel()
-            ;
-
-    add(selfRelLink);
-
+    add(ItemLinks.selfLink(item.getUuid()));
   }
 }
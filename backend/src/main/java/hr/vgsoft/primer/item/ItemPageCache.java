@@ -0,0 +1,273 @@
+package hr.vgsoft.primer.item;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache for pages of items that is invalidated only where write changed something. Content of
+ * page is cached in {@code items} cache and total number of items is kept separately, so
+ * pages that are before changed item are still valid and loading page content doesn't need
+ * count query.
+ *
+ * <p>Index from item uuid to cached pages that contain it is used to find pages that must be
+ * evicted. Pages are grouped by ordering (sort and page size) because page numbers are
+ * comparable only inside same ordering. Index is changed only while holding
+ * {@link ItemsGeneration} lock.
+ */
+@Slf4j
+@Component
+public class ItemPageCache {
+
+  public static final String CACHE_NAME = "items";
+
+  static final int MAX_INDEXED_PAGES = 4096;
+
+  private final Cache cache;
+  private final ItemsGeneration itemsGeneration;
+
+  private final Map<UUID, Set<Pageable>> pagesByItem = new HashMap<>();
+  private final Map<Pageable, List<UUID>> itemsByPage = new HashMap<>();
+  private final Map<Ordering, Set<Pageable>> pagesByOrdering = new HashMap<>();
+
+  private final Duration totalMaxAge;
+
+  private volatile Total total;
+
+  /**
+   * Creates cache for pages of items.
+   *
+   * @param cacheManager Cache manager with items cache
+   * @param itemsGeneration Items generation
+   * @param totalMaxAge How long total number of items is kept before it is counted again, this
+   *     limits drift caused by writes that didn't go trough this cache
+   */
+  public ItemPageCache(
+          final CacheManager cacheManager,
+          final ItemsGeneration itemsGeneration,
+          @Value("${custom.items.total-max-age:PT5M}") final Duration totalMaxAge) {
+    this.cache = cacheManager.getCache(CACHE_NAME);
+    this.itemsGeneration = itemsGeneration;
+    this.totalMaxAge = totalMaxAge;
+  }
+
+  /**
+   * Returns page from cache or loads its content with given loader and caches it. Total number
+   * of items is counted only if it is not known or is older than maximum age, otherwise it is
+   * kept current by inserts and deletes.
+   *
+   * @param pageable Requested page, must be sorted
+   * @param contentLoader Loads content of page without counting items
+   * @param counter Counts all items
+   * @return Page of items
+   */
+  @SuppressWarnings("unchecked")
+  public Page<Item> get(
+          final Pageable pageable,
+          final Function<Pageable, List<Item>> contentLoader,
+          final LongSupplier counter) {
+
+    final long generation = itemsGeneration.current();
+
+    List<Item> content = cache.get(pageable, List.class);
+    if (content == null) {
+      final List<Item> loadedContent = new ArrayList<>(contentLoader.apply(pageable));
+      itemsGeneration.runIfCurrent(generation, () -> remember(pageable, loadedContent));
+      content = loadedContent;
+    }
+
+    return new PageImpl<>(content, pageable, getTotal(generation, counter));
+  }
+
+  private long getTotal(final long generation, final LongSupplier counter) {
+    final Total knownTotal = total;
+    if (knownTotal != null
+            && knownTotal.getCountedAt().plus(totalMaxAge).isAfter(Instant.now())) {
+      return knownTotal.getCount();
+    }
+
+    final long count = counter.getAsLong();
+    itemsGeneration.runIfCurrent(generation, () -> total = new Total(count, Instant.now()));
+
+    return count;
+  }
+
+  /**
+   * Evicts all pages because position of new item in any ordering is not known. Database
+   * collation and uuid ordering can't be reproduced here.
+   */
+  public void itemInserted() {
+    itemsChanged(1);
+  }
+
+  /**
+   * Evicts all pages after many items were changed at once.
+   *
+   * @param totalDelta Difference in total number of items
+   */
+  public void itemsChanged(final long totalDelta) {
+    itemsGeneration.advance(() -> {
+      evictAll();
+      changeTotal(totalDelta);
+    });
+  }
+
+  /**
+   * Evicts pages that contain item and all pages of orderings that are sorted by one of changed
+   * properties, because item could have moved to any of those pages.
+   *
+   * @param uuid Updated item
+   * @param changedProperties Names of properties that were changed
+   */
+  public void itemUpdated(final UUID uuid, final Set<String> changedProperties) {
+    itemsGeneration.advance(() -> {
+      final Set<Ordering> movedIn = pagesByOrdering.keySet().stream()
+              .filter(it -> it.getSort().stream()
+                      .anyMatch(order -> changedProperties.contains(order.getProperty())))
+              .collect(Collectors.toSet());
+
+      movedIn.forEach(this::evictOrdering);
+      new ArrayList<>(pagesByItem.getOrDefault(uuid, Set.of())).forEach(this::evictPage);
+    });
+  }
+
+  /**
+   * Evicts pages that contain item and all pages after them in same ordering. Orderings without
+   * cached page that contains item are evicted completely.
+   *
+   * @param uuid Deleted item
+   */
+  public void itemDeleted(final UUID uuid) {
+    itemsGeneration.advance(() -> {
+      changeTotal(-1);
+
+      final Set<Pageable> containing = pagesByItem.getOrDefault(uuid, Set.of());
+      final Map<Ordering, Integer> firstChangedPage = new HashMap<>();
+      containing.forEach(it -> firstChangedPage.merge(
+              Ordering.of(it), it.getPageNumber(), Math::min));
+
+      new ArrayList<>(pagesByOrdering.entrySet()).forEach(entry -> {
+        final Integer first = firstChangedPage.get(entry.getKey());
+        new ArrayList<>(entry.getValue()).stream()
+                .filter(it -> first == null || it.getPageNumber() >= first)
+                .forEach(this::evictPage);
+      });
+    });
+  }
+
+  /**
+   * Number of pages in index, read without lock so it is only approximate.
+   */
+  int indexedPages() {
+    return itemsByPage.size();
+  }
+
+  private void changeTotal(final long delta) {
+    final Total knownTotal = total;
+    if (knownTotal != null) {
+      total = new Total(knownTotal.getCount() + delta, knownTotal.getCountedAt());
+    }
+  }
+
+  private void remember(final Pageable pageable, final List<Item> content) {
+    if (itemsByPage.size() >= MAX_INDEXED_PAGES) {
+      pruneIndex();
+    }
+
+    final List<UUID> uuids = content.stream()
+            .map(Item::getUuid)
+            .collect(Collectors.toList());
+
+    cache.put(pageable, content);
+
+    itemsByPage.put(pageable, uuids);
+    uuids.forEach(it -> pagesByItem.computeIfAbsent(it, key -> new HashSet<>()).add(pageable));
+    pagesByOrdering.computeIfAbsent(Ordering.of(pageable), key -> new HashSet<>()).add(pageable);
+  }
+
+  private void evictAll() {
+    cache.clear();
+    itemsByPage.clear();
+    pagesByItem.clear();
+    pagesByOrdering.clear();
+  }
+
+  private void evictOrdering(final Ordering ordering) {
+    new ArrayList<>(pagesByOrdering.getOrDefault(ordering, Set.of())).forEach(this::evictPage);
+  }
+
+  private void evictPage(final Pageable pageable) {
+    log.debug("Evicting page {}", pageable);
+    cache.evict(pageable);
+    unindex(pageable);
+  }
+
+  /**
+   * Removes pages that were already evicted by cache itself (size or time limit).
+   */
+  private void pruneIndex() {
+    new ArrayList<>(itemsByPage.keySet()).stream()
+            .filter(it -> cache.get(it) == null)
+            .forEach(this::unindex);
+  }
+
+  private void unindex(final Pageable pageable) {
+    final List<UUID> uuids = itemsByPage.remove(pageable);
+    if (uuids != null) {
+      uuids.forEach(it -> {
+        final Set<Pageable> pages = pagesByItem.get(it);
+        if (pages != null) {
+          pages.remove(pageable);
+          if (pages.isEmpty()) {
+            pagesByItem.remove(it);
+          }
+        }
+      });
+    }
+
+    final Ordering ordering = Ordering.of(pageable);
+    final Set<Pageable> pages = pagesByOrdering.get(ordering);
+    if (pages != null) {
+      pages.remove(pageable);
+      if (pages.isEmpty()) {
+        pagesByOrdering.remove(ordering);
+      }
+    }
+  }
+
+  @lombok.Value
+  private static class Total {
+    long count;
+    Instant countedAt;
+  }
+
+  @lombok.Value(staticConstructor = "of")
+  private static class Ordering {
+    Sort sort;
+    int pageSize;
+
+    static Ordering of(final Pageable pageable) {
+      return of(pageable.getSort(), pageable.getPageSize());
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package hr.vgsoft.primer.item;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Value;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calculates ETag for page of items from page metadata and uuid and version of every item on
+ * page. Calculated fingerprints are remembered together with {@link ItemsGeneration} so
+ * conditional request can be answered without loading page.
+ */
+@Component
+public class ItemPageFingerprints {
+
+  static final int MAX_REMEMBERED_PAGES = 1024;
+
+  private static final long SEED = 0x9E3779B97F4A7C15L;
+
+  private final ItemsGeneration itemsGeneration;
+
+  private final Map<Pageable, Fingerprint> remembered = new ConcurrentHashMap<>();
+
+  public ItemPageFingerprints(final ItemsGeneration itemsGeneration) {
+    this.itemsGeneration = itemsGeneration;
+  }
+
+  /**
+   * Returns remembered fingerprint for pageable if items table didn't change since it was
+   * calculated.
+   *
+   * @param pageable Requested page
+   * @return Fingerprint if it is still valid, otherwise Optional.empty
+   */
+  public Optional<String> lookup(final Pageable pageable) {
+    final Fingerprint fingerprint = remembered.get(pageable);
+
+    if (fingerprint == null || fingerprint.getGeneration() != itemsGeneration.current()) {
+      return Optional.empty();
+    }
+
+    return Optional.of(fingerprint.getEtag());
+  }
+
+  /**
+   * Calculates fingerprint for page and remembers it under given generation. Generation must be
+   * read before page was loaded.
+   *
+   * @param pageable Requested page
+   * @param generation Generation read before page was loaded
+   * @param items Loaded page
+   * @return Fingerprint of page
+   */
+  public String remember(final Pageable pageable, final long generation, final Page<Item> items) {
+    final String etag = calculate(items);
+
+    if (remembered.size() >= MAX_REMEMBERED_PAGES) {
+      remembered.entrySet().removeIf(it -> it.getValue().getGeneration() != generation);
+    }
+    if (remembered.size() < MAX_REMEMBERED_PAGES) {
+      remembered.put(pageable, new Fingerprint(generation, etag));
+    }
+
+    return etag;
+  }
+
+  int rememberedPages() {
+    return remembered.size();
+  }
+
+  /**
+   * Calculates fingerprint of page. Hash is calculated in one pass and without allocation per
+   * item, only uuid and version of item are used because every change of item changes version.
+   *
+   * @param items Page of items
+   * @return Hex string with fingerprint
+   */
+  static String calculate(final Page<Item> items) {
+    return calculate(items, SEED);
+  }
+
+  /**
+   * Calculates fingerprint of page of search results. Query is part of fingerprint because it is
+   * part of page links.
+   *
+   * @param items Page of items
+   * @param query Search query
+   * @return Hex string with fingerprint
+   */
+  static String calculate(final Page<Item> items, final String query) {
+    return calculate(items, mix(SEED, query.hashCode()));
+  }
+
+  private static String calculate(final Page<Item> items, final long seed) {
+    long hash = seed;
+
+    hash = mix(hash, items.getNumber());
+    hash = mix(hash, items.getSize());
+    hash = mix(hash, items.getTotalElements());
+
+    for (Sort.Order order : items.getSort()) {
+      hash = mix(hash, order.getProperty().hashCode());
+      hash = mix(hash, order.getDirection().ordinal());
+      hash = mix(hash, order.isIgnoreCase() ? 1 : 0);
+      hash = mix(hash, order.getNullHandling().ordinal());
+    }
+
+    for (Item item : items) {
+      hash = mix(hash, item.getUuid().getMostSignificantBits());
+      hash = mix(hash, item.getUuid().getLeastSignificantBits());
+      hash = mix(hash, item.getVersion() == null ? -1 : item.getVersion());
+    }
+
+    return Long.toHexString(hash);
+  }
+
+  private static long mix(final long hash, final long value) {
+    long h = (hash ^ value) * 0xBF58476D1CE4E5B9L;
+    h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+    return h ^ (h >>> 31);
+  }
+
+  @Value
+  private static class Fingerprint {
+    long generation;
+    String etag;
+  }
+}
@@ -1,8 +1,97 @@
 package hr.vgsoft.primer.item;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface ItemRepository extends JpaRepository<Item, UUID>, ItemConditionalWrites {
+
+  /**
+   * Number of rows JDBC driver fetches in one round trip while streaming items.
+   */
+  String STREAM_FETCH_SIZE = "500";
+
+  /**
+   * Finds page of items without counting all items.
+   *
+   * @param pageable Requested page
+   * @return Items on page
+   */
+  Slice<Item> findAllBy(Pageable pageable);
+
+  /**
+   * Finds only version of item without loading entity.
+   *
+   * @param uuid Item uuid
+   * @return Version if item exists, otherwise Optional.empty
+   */
+  @Query("SELECT i.version FROM Item i WHERE i.uuid = ?1")
+  Optional<Integer> findVersionByUuid(UUID uuid);
+
+  /**
+   * Finds first items ordered by name and uuid. Only size of pageable is used.
+   *
+   * @param pageable Limit of items
+   * @return Items ordered by name and uuid
+   */
+  @Query("SELECT i FROM Item i ORDER BY i.name, i.uuid")
+  List<Item> findFirstByNameAndUuid(Pageable pageable);
+
+  /**
+   * Finds items that are after given name and uuid when ordered by name and uuid. Condition is
+   * written so that index on name and uuid can be used for range scan, so cost of query doesn't
+   * depend on how many items are before cursor. Only size of pageable is used.
+   *
+   * @param name Name of last item client has
+   * @param uuid Uuid of last item client has
+   * @param pageable Limit of items
+   * @return Items ordered by name and uuid
+   */
+  @Query("SELECT i FROM Item i WHERE i.name >= ?1 AND (i.name > ?1 OR i.uuid > ?2) "
+          + "ORDER BY i.name, i.uuid")
+  List<Item> findAfterByNameAndUuid(String name, UUID uuid, Pageable pageable);
+
+  /**
+   * Streams all items with forward only cursor. Rows are fetched from database in chunks of
+   * {@link #STREAM_FETCH_SIZE} and entities are read only, so caller that detaches every item
+   * after use reads whole table with constant memory. Streamed items are not put into
+   * second-level cache, so reading whole table doesn't push out items that are in use. Must be
+   * called inside transaction and stream must be closed.
+   *
+   * @return Stream of all items
+   */
+  @QueryHints({
+          @QueryHint(name = "org.hibernate.fetchSize", value = STREAM_FETCH_SIZE),
+          @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+          @QueryHint(name = "org.hibernate.cacheable", value = "false"),
+          @QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE")})
+  @Query("SELECT i FROM Item i")
+  Stream<Item> streamAllBy();
 
-public interface ItemRepository extends JpaRepository<Item, UUID> {
+  /**
+   * Finds items whose name or description matches LIKE pattern, ignoring case. Postgres only,
+   * ILIKE with pattern that starts with wildcard is answered from trigram indexes. Pageable must
+   * be unsorted.
+   *
+   * @param pattern LIKE pattern with backslash as escape character
+   * @param pageable Requested page
+   * @return Matching items ordered by name and uuid
+   */
+  @Query(value = "SELECT * FROM items WHERE name ILIKE :pattern OR description ILIKE :pattern "
+          + "ORDER BY name, uuid",
+          countQuery = "SELECT count(*) FROM items "
+                  + "WHERE name ILIKE :pattern OR description ILIKE :pattern",
+          nativeQuery = true)
+  Page<Item> searchByNameOrDescription(@Param("pattern") String pattern, Pageable pageable);
 }
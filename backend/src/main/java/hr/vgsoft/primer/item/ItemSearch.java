@@ -0,0 +1,22 @@
+package hr.vgsoft.primer.item;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Finds items whose name or description contains query, ignoring case. Implementation is chosen
+ * with {@code custom.items.search}: {@code database} uses trigram indexes of Postgres and
+ * {@code memory} keeps its own index for databases without them (H2).
+ */
+public interface ItemSearch {
+
+  /**
+   * Finds items that contain query in name or description. Prefix is matched as any other
+   * substring. Results are ordered by name and uuid, sort of pageable is ignored.
+   *
+   * @param query Text to find, not empty
+   * @param pageable Requested page
+   * @return Page of matching items
+   */
+  Page<Item> search(String query, Pageable pageable);
+}
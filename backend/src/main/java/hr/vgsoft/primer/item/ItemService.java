@@ -4,16 +4,59 @@ import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface ItemService {
 
   Page<Item> findAll(final Pageable pageable);
 
+  /**
+   * Finds items ordered by name and uuid that are after cursor, without counting all items.
+   *
+   * @param after Cursor of last item client has, or null for first items
+   * @param size Number of items to return
+   * @return Items after cursor
+   */
+  Slice<Item> findAllAfter(final ItemCursor after, final int size);
+
+  /**
+   * Finds items that contain query in name or description.
+   *
+   * @param query Text to find
+   * @param pageable Requested page, its sort is ignored
+   * @return Matching items ordered by name and uuid
+   */
+  Page<Item> search(final String query, final Pageable pageable);
+
   Item getItemByUuid(final UUID uuid);
 
+  Integer getItemVersionByUuid(final UUID uuid);
+
   Item newItem(final NewItemModel itemModel);
 
   void updateItem(UUID itemUuid, NewItemModel updateItem);
 
   void deleteItem(UUID itemUuid);
+
+  /**
+   * Updates item with one statement, only if it still has expected version.
+   *
+   * @param itemUuid Item uuid
+   * @param updateItem New name and description
+   * @param expectedVersion Version client has
+   * @return New version of item
+   * @throws ItemNotFoundException If item doesn't exist
+   * @throws ItemVersionMismatchException If item has other version
+   */
+  int updateItemIfVersion(UUID itemUuid, NewItemModel updateItem, int expectedVersion);
+
+  /**
+   * Deletes item with one statement, only if it still has expected version.
+   *
+   * @param itemUuid Item uuid
+   * @param expectedVersion Version client has
+   * @throws ItemNotFoundException If item doesn't exist
+   * @throws ItemVersionMismatchException If item has other version
+   */
+  void deleteItemIfVersion(UUID itemUuid, int expectedVersion);
 }
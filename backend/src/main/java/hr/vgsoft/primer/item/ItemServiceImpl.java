@@ -1,40 +1,108 @@
 package hr.vgsoft.primer.item;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Transactional
 @Service
 public class ItemServiceImpl implements ItemService {
 
+  /**
+   * Pages without order are not stable in database, so they are ordered by uuid which never
+   * changes.
+   */
+  private static final Sort DEFAULT_SORT = Sort.by("uuid");
+
+  private static final Set<String> UPDATABLE_PROPERTIES = Set.of("name", "description", "version");
+
   private ItemRepository itemRepository;
+  private ItemPageCache itemPageCache;
+  private ItemSearch itemSearch;
+  private EntityManager entityManager;
 
-  public ItemServiceImpl(final ItemRepository itemRepository) {
+  public ItemServiceImpl(
+          final ItemRepository itemRepository, final ItemPageCache itemPageCache,
+          final ItemSearch itemSearch, final EntityManager entityManager) {
     this.itemRepository = itemRepository;
+    this.itemPageCache = itemPageCache;
+    this.itemSearch = itemSearch;
+    this.entityManager = entityManager;
   }
 
-  @Cacheable("items")
   @Transactional(readOnly = true)
   @Override
   public Page<Item> findAll(final Pageable pageable) {
-    return itemRepository.findAll(pageable);
+    final Pageable sortedPageable = pageable.getSort().isSorted()
+            ? pageable
+            : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_SORT);
+
+    ItemServiceMetrics.cacheChecked();
+
+    return itemPageCache.get(sortedPageable, it -> {
+      ItemServiceMetrics.cacheMissed();
+      return itemRepository.findAllBy(it).getContent();
+    }, itemRepository::count);
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public Slice<Item> findAllAfter(final ItemCursor after, final int size) {
+    // One item more is loaded to know if there is next slice
+    final Pageable limit = PageRequest.of(0, size + 1);
+
+    final List<Item> items = after == null
+            ? itemRepository.findFirstByNameAndUuid(limit)
+            : itemRepository.findAfterByNameAndUuid(after.getName(), after.getUuid(), limit);
+
+    final boolean hasNext = items.size() > size;
+
+    return new SliceImpl<>(
+            hasNext ? items.subList(0, size) : items, PageRequest.of(0, size), hasNext);
+  }
+
+  @Transactional(readOnly = true)
+  @Override
+  public Page<Item> search(final String query, final Pageable pageable) {
+    return itemSearch.search(query, pageable);
   }
 
   @Cacheable("item")
   @Transactional(readOnly = true)
   @Override
   public Item getItemByUuid(final UUID uuid) {
+    ItemServiceMetrics.cacheMissed();
     return itemRepository.findById(uuid).orElseThrow(() -> new ItemNotFoundException(uuid));
   }
 
+  @Cacheable("itemVersion")
+  @Transactional(readOnly = true)
+  @Override
+  public Integer getItemVersionByUuid(final UUID uuid) {
+    ItemServiceMetrics.cacheMissed();
+    return itemRepository.findVersionByUuid(uuid)
+            .orElseThrow(() -> new ItemNotFoundException(uuid));
+  }
 
   @CachePut(value = "item", key = "#result.uuid")
   @Override
@@ -42,13 +110,17 @@ public class ItemServiceImpl implements ItemService {
 
     final Item item = new Item(UUID.randomUUID(), itemModel.getName(), itemModel.getDescription());
 
-    return itemRepository.save(item);
+    final Item savedItem = itemRepository.save(item);
+
+    itemPageCache.itemInserted();
+
+    return savedItem;
   }
 
 
   @Caching(evict = {
           @CacheEvict(value = "item", key = "#uuid"),
-          @CacheEvict(value = "items", allEntries = true),
+          @CacheEvict(value = "itemVersion", key = "#uuid"),
   })
   @Override
   public void updateItem(final UUID uuid, final NewItemModel updateItem) {
@@ -56,13 +128,24 @@ public class ItemServiceImpl implements ItemService {
     final Item item =
             itemRepository.findById(uuid).orElseThrow(() -> new ItemNotFoundException(uuid));
 
+    final Set<String> changedProperties = new HashSet<>();
+    changedProperties.add("version");
+    if (!Objects.equals(item.getName(), updateItem.getName())) {
+      changedProperties.add("name");
+    }
+    if (!Objects.equals(item.getDescription(), updateItem.getDescription())) {
+      changedProperties.add("description");
+    }
+
     item.setName(updateItem.getName());
     item.setDescription(updateItem.getDescription());
+
+    itemPageCache.itemUpdated(uuid, changedProperties);
   }
 
   @Caching(evict = {
           @CacheEvict(value = "item", key = "#uuid"),
-          @CacheEvict(value = "items", allEntries = true),
+          @CacheEvict(value = "itemVersion", key = "#uuid"),
   })
   @Override
   public void deleteItem(final UUID uuid) {
@@ -70,5 +153,73 @@ public class ItemServiceImpl implements ItemService {
             itemRepository.findById(uuid).orElseThrow(() -> new ItemNotFoundException(uuid));
 
     itemRepository.delete(item);
+
+    itemPageCache.itemDeleted(uuid);
+  }
+
+  @Caching(evict = {
+          @CacheEvict(value = "item", key = "#uuid"),
+          @CacheEvict(value = "itemVersion", key = "#uuid"),
+  })
+  @Override
+  public int updateItemIfVersion(
+          final UUID uuid, final NewItemModel updateItem, final int expectedVersion) {
+
+    final int updated = itemRepository.updateIfVersion(
+            uuid, expectedVersion, updateItem.getName(), updateItem.getDescription());
+    if (updated == 0) {
+      throw conditionFailed(uuid);
+    }
+
+    evictCachedEntity(uuid);
+
+    // Old values are not read, so any ordering by name or description could have changed
+    itemPageCache.itemUpdated(uuid, UPDATABLE_PROPERTIES);
+
+    return expectedVersion + 1;
+  }
+
+  @Caching(evict = {
+          @CacheEvict(value = "item", key = "#uuid"),
+          @CacheEvict(value = "itemVersion", key = "#uuid"),
+  })
+  @Override
+  public void deleteItemIfVersion(final UUID uuid, final int expectedVersion) {
+    if (itemRepository.deleteIfVersion(uuid, expectedVersion) == 0) {
+      throw conditionFailed(uuid);
+    }
+
+    evictCachedEntity(uuid);
+    itemPageCache.itemDeleted(uuid);
+  }
+
+  /**
+   * Evicts only written item from second-level cache, conditional statements don't evict anything.
+   * Item is evicted again after commit, because other transaction could have cached its old state
+   * in meantime.
+   */
+  private void evictCachedEntity(final UUID uuid) {
+    final Cache cache = entityManager.getEntityManagerFactory().getCache();
+    cache.evict(Item.class, uuid);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+              new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                  cache.evict(Item.class, uuid);
+                }
+              });
+    }
+  }
+
+  /**
+   * Finds out why conditional write didn't change anything, this second query is made only when
+   * write failed.
+   */
+  private RuntimeException conditionFailed(final UUID uuid) {
+    return itemRepository.existsById(uuid)
+            ? new ItemVersionMismatchException(uuid)
+            : new ItemNotFoundException(uuid);
   }
 }
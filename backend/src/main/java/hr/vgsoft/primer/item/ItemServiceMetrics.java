@@ -0,0 +1,122 @@
+package hr.vgsoft.primer.item;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every {@link ItemService} method as {@code items.service} timer tagged by method, cache
+ * result and exception. Percentiles are configured in properties.
+ *
+ * <p>Aspect is ordered before cache and transaction interceptors, so cache hits are timed too.
+ * Method is tagged as cache miss if it reported miss with {@link #cacheMissed()}, methods that
+ * don't use cache are tagged with {@code none}.
+ *
+ * <p>Also registers gauges for sizes of item caches that are not Spring caches.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ItemServiceMetrics {
+
+  static final String TIMER_NAME = "items.service";
+
+  private static final ThreadLocal<CacheUse> CURRENT = new ThreadLocal<>();
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Creates metrics of item service.
+   *
+   * @param meterRegistry Registry for timers and gauges
+   * @param itemPageCache Cache of item pages, its index size is measured
+   * @param itemPageFingerprints Fingerprints of item pages, number of remembered is measured
+   */
+  public ItemServiceMetrics(
+          final MeterRegistry meterRegistry,
+          final ItemPageCache itemPageCache,
+          final ItemPageFingerprints itemPageFingerprints) {
+    this.meterRegistry = meterRegistry;
+
+    Gauge.builder("items.pages.indexed", itemPageCache, ItemPageCache::indexedPages)
+            .description("Cached item pages that are indexed for invalidation")
+            .register(meterRegistry);
+    Gauge.builder("items.fingerprints.remembered", itemPageFingerprints,
+            ItemPageFingerprints::rememberedPages)
+            .description("Item pages whose ETag is known without loading them")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Reports that current item service method is using cache. Methods annotated with
+   * {@link Cacheable} are known to use it.
+   */
+  static void cacheChecked() {
+    final CacheUse cacheUse = CURRENT.get();
+    if (cacheUse != null) {
+      cacheUse.checked = true;
+    }
+  }
+
+  /**
+   * Reports that current item service method didn't find result in cache and loaded it.
+   */
+  static void cacheMissed() {
+    final CacheUse cacheUse = CURRENT.get();
+    if (cacheUse != null) {
+      cacheUse.checked = true;
+      cacheUse.missed = true;
+    }
+  }
+
+  @Around("execution(* hr.vgsoft.primer.item.ItemService.*(..))")
+  public Object time(final ProceedingJoinPoint joinPoint) throws Throwable {
+    final Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    final Method targetMethod =
+            AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(joinPoint.getTarget()));
+
+    final CacheUse previous = CURRENT.get();
+    final CacheUse cacheUse = new CacheUse();
+    cacheUse.checked = AnnotatedElementUtils.hasAnnotation(targetMethod, Cacheable.class);
+    CURRENT.set(cacheUse);
+
+    final Timer.Sample sample = Timer.start(meterRegistry);
+    String exception = "none";
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable e) {
+      exception = e.getClass().getSimpleName();
+      throw e;
+    } finally {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+
+      sample.stop(Timer.builder(TIMER_NAME)
+              .description("Item service method calls")
+              .tag("method", method.getName())
+              .tag("cache", !cacheUse.checked ? "none" : cacheUse.missed ? "miss" : "hit")
+              .tag("exception", exception)
+              .register(meterRegistry));
+    }
+  }
+
+  private static class CacheUse {
+    private boolean checked;
+    private boolean missed;
+  }
+}
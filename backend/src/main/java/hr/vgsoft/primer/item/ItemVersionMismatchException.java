@@ -0,0 +1,17 @@
+package hr.vgsoft.primer.item;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Item exists but was changed since client got version it expected in {@code If-Match}.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class ItemVersionMismatchException extends RuntimeException {
+
+  public ItemVersionMismatchException(final UUID uuid) {
+    super("Item " + uuid + " was changed");
+  }
+}
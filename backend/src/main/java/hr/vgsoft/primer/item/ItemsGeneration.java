@@ -0,0 +1,64 @@
+package hr.vgsoft.primer.item;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Table level counter that is advanced every time items table is changed trough
+ * {@link ItemService}. Anything derived from items table can be remembered together with
+ * generation and is valid as long as generation did not change.
+ */
+@Component
+public class ItemsGeneration {
+
+  private final AtomicLong generation = new AtomicLong();
+
+  public long current() {
+    return generation.get();
+  }
+
+  /**
+   * Runs invalidation and advances generation. If called inside transaction this is done only
+   * after commit, so readers can't remember uncommitted state under new generation.
+   *
+   * @param invalidation Invalidation of state derived from items table
+   */
+  public void advance(final Runnable invalidation) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+              new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                  advanceNow(invalidation);
+                }
+              });
+    } else {
+      advanceNow(invalidation);
+    }
+  }
+
+  /**
+   * Runs action only if generation is still the same. Action can't interleave with
+   * invalidation, so state remembered by action is either invalidated or current.
+   *
+   * @param expectedGeneration Generation read before state was loaded
+   * @param action Action that remembers state
+   * @return True if action was run
+   */
+  public synchronized boolean runIfCurrent(final long expectedGeneration, final Runnable action) {
+    if (generation.get() != expectedGeneration) {
+      return false;
+    }
+
+    action.run();
+    return true;
+  }
+
+  private synchronized void advanceNow(final Runnable invalidation) {
+    invalidation.run();
+    generation.incrementAndGet();
+  }
+}
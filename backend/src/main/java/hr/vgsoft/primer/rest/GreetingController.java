@@ -1,10 +1,19 @@
 package hr.vgsoft.primer.rest;
 
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 @RestController
 public class GreetingController {
@@ -12,16 +21,44 @@ public class GreetingController {
   private static final String template = "Hello, %s!";
   private final AtomicLong counter = new AtomicLong();
 
+  private final Duration delay;
+
+  /**
+   * Delay is only scheduled, request thread is released while greeting waits, so slow
+   * greetings don't use request threads.
+   */
+  private final ScheduledExecutorService delayScheduler =
+          Executors.newSingleThreadScheduledExecutor(
+                  new CustomizableThreadFactory("greeting-delay-"));
+
+  /**
+   * Greeting controller.
+   *
+   * @param delay Simulated delay of every greeting, zero for none
+   */
+  public GreetingController(@Value("${custom.greeting.delay:0}") final Duration delay) {
+    this.delay = delay;
+  }
+
   @RequestMapping("/api/greeting")
-  public Greeting greeting(@RequestParam(value="name", defaultValue="World from backend!") String name) {
+  public DeferredResult<Greeting> greeting(@RequestParam(value="name", defaultValue="World from backend!") String name) {
 
-    try {
-      Thread.sleep(1000L);
-    } catch (InterruptedException e) {
-      e.printStackTrace();
+    final Greeting greeting = new Greeting(counter.incrementAndGet(),
+            String.format(template, name));
+
+    final DeferredResult<Greeting> result = new DeferredResult<>();
+    if (delay.isZero() || delay.isNegative()) {
+      result.setResult(greeting);
+    } else {
+      delayScheduler.schedule(
+              () -> result.setResult(greeting), delay.toMillis(), TimeUnit.MILLISECONDS);
     }
 
-    return new Greeting(counter.incrementAndGet(),
-            String.format(template, name));
+    return result;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    delayScheduler.shutdownNow();
   }
 }
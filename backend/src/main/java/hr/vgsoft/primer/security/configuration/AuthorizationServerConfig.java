@@ -1,12 +1,18 @@
 package hr.vgsoft.primer.security.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
 import lombok.AccessLevel;
 import lombok.Getter;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.config.annotation.web.configuration.EnableAuthorizationServer;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
 import org.springframework.security.oauth2.provider.token.TokenStore;
 import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
 import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
@@ -16,6 +22,8 @@ import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
 @EnableAuthorizationServer
 public class AuthorizationServerConfig {
 
+  static final String TOKEN_ENDPOINT_PATH = "/oauth/token";
+
   private final JwtProperties jwtProperties;
 
   @Autowired
@@ -24,15 +32,23 @@ public class AuthorizationServerConfig {
   }
 
   /**
-   * Configure JwtAccessTokenConverter.
+   * RSA key pair from key store that signs tokens.
+   *
+   * @return Signing key
+   */
+  @Bean
+  public JwtSigningKey jwtSigningKey() {
+    return new JwtSigningKey(jwtProperties);
+  }
+
+  /**
+   * Configure JwtAccessTokenConverter that signs tokens with RS256.
    *
    * @return JwtAccessTokenConverter
    */
   @Bean
   public JwtAccessTokenConverter accessTokenConverter() {
-    JwtAccessTokenConverter converter = new JwtAccessTokenConverter();
-    converter.setSigningKey(jwtProperties.getSigningKey());
-    return converter;
+    return new KeyIdJwtAccessTokenConverter(jwtSigningKey());
   }
 
   /**
@@ -45,4 +61,49 @@ public class AuthorizationServerConfig {
     return new JwtTokenStore(accessTokenConverter());
   }
 
-}
\ No newline at end of file
+  /**
+   * Token services used by resource server. Tokens are verified by {@link JwtTokenStore} and
+   * remembered until they expire, so requests with already verified token don't verify
+   * signature again. Authentication is built only from token claims, users are not loaded.
+   *
+   * @param meterRegistry Registry for metrics of verified tokens cache
+   * @return Caching token services
+   */
+  @Bean
+  public CachingResourceServerTokenServices resourceServerTokenServices(
+          final MeterRegistry meterRegistry) {
+    final DefaultTokenServices tokenServices = new DefaultTokenServices();
+    tokenServices.setTokenStore(tokenStore());
+
+    final CachingResourceServerTokenServices cachingTokenServices =
+            new CachingResourceServerTokenServices(
+                    tokenServices,
+                    jwtProperties.getVerifiedTokenCacheSize(),
+                    jwtProperties.getVerifiedTokenMaxAge());
+
+    // Same tag keys as Spring caches have, Prometheus requires them for all cache.* meters
+    CaffeineCacheMetrics.monitor(
+            meterRegistry, cachingTokenServices.getVerifiedTokens(), "verifiedTokens",
+            "cacheManager", "resourceServerTokenServices", "name", "verifiedTokens");
+
+    return cachingTokenServices;
+  }
+
+  /**
+   * Limits requests to token endpoint before client and user are authenticated.
+   *
+   * @param loginLimitProperties Limits
+   * @param meterRegistry Registry for metrics of limits
+   * @return Filter registration for token endpoint
+   */
+  @Bean
+  public FilterRegistrationBean<TokenEndpointLimitFilter> tokenEndpointLimitFilter(
+          final LoginLimitProperties loginLimitProperties, final MeterRegistry meterRegistry) {
+    final FilterRegistrationBean<TokenEndpointLimitFilter> bean = new FilterRegistrationBean<>(
+            new TokenEndpointLimitFilter(loginLimitProperties, meterRegistry));
+    bean.addUrlPatterns(TOKEN_ENDPOINT_PATH);
+    bean.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+
+    return bean;
+  }
+}
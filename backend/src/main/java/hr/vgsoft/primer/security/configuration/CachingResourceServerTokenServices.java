@@ -0,0 +1,149 @@
+package hr.vgsoft.primer.security.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Value;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.common.util.JsonParser;
+import org.springframework.security.oauth2.common.util.JsonParserFactory;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.AccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+/**
+ * Remembers authentication of verified access tokens until token expires, so repeated requests
+ * with same bearer token skip signature verification and claim parsing. Key is whole token, not
+ * only its signature, so changed claims can't reuse authentication of verified token. Tokens
+ * without expiration are kept at most maximum age.
+ */
+public class CachingResourceServerTokenServices implements ResourceServerTokenServices {
+
+  private final ResourceServerTokenServices delegate;
+
+  private final Cache<String, VerifiedToken> verifiedTokens;
+
+  private final JsonParser jsonParser = JsonParserFactory.create();
+
+  /**
+   * Creates token services that cache result of delegate.
+   *
+   * @param delegate Token services that verify and parse token
+   * @param maximumSize Maximum number of remembered tokens
+   * @param maximumAge Maximum time token is remembered, even if it expires later
+   */
+  public CachingResourceServerTokenServices(
+          final ResourceServerTokenServices delegate,
+          final long maximumSize,
+          final Duration maximumAge) {
+    this.delegate = delegate;
+    this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new UntilTokenExpires(maximumAge.toNanos()))
+            .recordStats()
+            .build();
+  }
+
+  @Override
+  public OAuth2Authentication loadAuthentication(final String accessToken)
+          throws AuthenticationException, InvalidTokenException {
+
+    // Authentication manager sets details on returned authentication, so every caller gets its
+    // own instance and only its immutable parts are shared
+    final VerifiedToken verifiedToken = verifiedTokens.getIfPresent(accessToken);
+    if (verifiedToken != null && !verifiedToken.isExpired()) {
+      return new OAuth2Authentication(
+              verifiedToken.getRequest(), verifiedToken.getUserAuthentication());
+    }
+
+    // Delegate verifies token and its expiration, after that claims are only decoded
+    final OAuth2Authentication authentication = delegate.loadAuthentication(accessToken);
+
+    verifiedTokens.put(accessToken, new VerifiedToken(readExpiration(accessToken),
+            authentication.getOAuth2Request(), authentication.getUserAuthentication()));
+
+    return authentication;
+  }
+
+  @Override
+  public OAuth2AccessToken readAccessToken(final String accessToken) {
+    return delegate.readAccessToken(accessToken);
+  }
+
+  /**
+   * Reads expiration of verified token without verifying its signature again.
+   */
+  private Date readExpiration(final String accessToken) {
+    final Object expiration = jsonParser.parseMap(JwtHelper.decode(accessToken).getClaims())
+            .get(AccessTokenConverter.EXP);
+
+    return expiration instanceof Number
+            ? new Date(TimeUnit.SECONDS.toMillis(((Number) expiration).longValue()))
+            : null;
+  }
+
+  /**
+   * Cache of verified tokens, exposed for metrics.
+   *
+   * @return Cache of verified tokens
+   */
+  public Cache<String, VerifiedToken> getVerifiedTokens() {
+    return verifiedTokens;
+  }
+
+  @Value
+  static class VerifiedToken {
+    Date expiration;
+    OAuth2Request request;
+    Authentication userAuthentication;
+
+    boolean isExpired() {
+      return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+  }
+
+  private static class UntilTokenExpires implements Expiry<String, VerifiedToken> {
+
+    private final long maximumAgeNanos;
+
+    UntilTokenExpires(final long maximumAgeNanos) {
+      this.maximumAgeNanos = maximumAgeNanos;
+    }
+
+    @Override
+    public long expireAfterCreate(
+            final String key, final VerifiedToken value, final long currentTime) {
+      if (value.getExpiration() == null) {
+        return maximumAgeNanos;
+      }
+
+      final long untilExpiration = TimeUnit.MILLISECONDS.toNanos(
+              value.getExpiration().getTime() - System.currentTimeMillis());
+      return Math.max(0, Math.min(untilExpiration, maximumAgeNanos));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+            final String key, final VerifiedToken value, final long currentTime,
+            final long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+            final String key, final VerifiedToken value, final long currentTime,
+            final long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
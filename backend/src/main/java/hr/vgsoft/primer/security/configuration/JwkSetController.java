@@ -0,0 +1,38 @@
+package hr.vgsoft.primer.security.configuration;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Publishes public key that signs tokens, so other services can verify tokens without calling
+ * this application.
+ */
+@RestController
+public class JwkSetController {
+
+  static final String JWK_SET_PATH = "/.well-known/jwks.json";
+
+  private final JwtSigningKey signingKey;
+
+  public JwkSetController(final JwtSigningKey signingKey) {
+    this.signingKey = signingKey;
+  }
+
+  /**
+   * Returns JWK Set that was serialized on startup.
+   *
+   * @return JWK Set
+   */
+  @GetMapping(value = JWK_SET_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<byte[]> jwkSet() {
+    return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic())
+            .eTag(signingKey.getJwkSetEtag())
+            .body(signingKey.getJwkSet());
+  }
+}
@@ -1,13 +1,37 @@
 package hr.vgsoft.primer.security.configuration;
 
+import java.time.Duration;
+
 import lombok.Data;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
 
 @Configuration
 @ConfigurationProperties(prefix = "custom.jwt")
 @Data
 public class JwtProperties {
-  private String signingKey;
+
+  /**
+   * Key store with RSA key pair that signs tokens.
+   */
+  private Resource keyStore;
+
+  private String keyStorePassword;
+
+  /**
+   * Alias of key pair in key store.
+   */
+  private String keyAlias;
+
+  /**
+   * Maximum number of verified access tokens remembered by resource server.
+   */
+  private long verifiedTokenCacheSize = 10000;
+
+  /**
+   * Verified access token is remembered until it expires, but not longer than this.
+   */
+  private Duration verifiedTokenMaxAge = Duration.ofHours(1);
 }
@@ -0,0 +1,75 @@
+package hr.vgsoft.primer.security.configuration;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+
+import org.springframework.security.oauth2.provider.token.store.KeyStoreKeyFactory;
+import org.springframework.util.DigestUtils;
+
+/**
+ * RSA key pair that signs tokens, together with its public JSON Web Key Set. Key id is
+ * thumbprint of public key (RFC 7638), so it changes only when key changes. JWK Set is
+ * serialized once, when key is loaded.
+ */
+public class JwtSigningKey {
+
+  private final KeyPair keyPair;
+  private final String keyId;
+  private final byte[] jwkSet;
+  private final String jwkSetEtag;
+
+  /**
+   * Loads key pair and prepares its JWK Set.
+   *
+   * @param jwtProperties Location of key store and alias of key pair
+   * @throws IllegalStateException if key pair can't be loaded
+   */
+  public JwtSigningKey(final JwtProperties jwtProperties) {
+    this.keyPair = new KeyStoreKeyFactory(
+            jwtProperties.getKeyStore(), jwtProperties.getKeyStorePassword().toCharArray())
+            .getKeyPair(jwtProperties.getKeyAlias());
+
+    try {
+      final RSAKey publicKey = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+              .keyUse(KeyUse.SIGNATURE)
+              .algorithm(JWSAlgorithm.RS256)
+              .keyIDFromThumbprint()
+              .build();
+
+      this.keyId = publicKey.getKeyID();
+      this.jwkSet = new JWKSet(publicKey).toJSONObject(true).toJSONString()
+              .getBytes(StandardCharsets.UTF_8);
+      this.jwkSetEtag = DigestUtils.md5DigestAsHex(jwkSet);
+    } catch (JOSEException e) {
+      throw new IllegalStateException("Can't create JWK for signing key", e);
+    }
+  }
+
+  public KeyPair getKeyPair() {
+    return keyPair;
+  }
+
+  public String getKeyId() {
+    return keyId;
+  }
+
+  /**
+   * Returns serialized JWK Set with public key. Same array is returned every time and must not
+   * be changed.
+   *
+   * @return JWK Set as UTF-8 JSON
+   */
+  public byte[] getJwkSet() {
+    return jwkSet;
+  }
+
+  public String getJwkSetEtag() {
+    return jwkSetEtag;
+  }
+}
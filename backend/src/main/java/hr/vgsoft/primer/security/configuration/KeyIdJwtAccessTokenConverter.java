@@ -0,0 +1,45 @@
+package hr.vgsoft.primer.security.configuration;
+
+import java.security.interfaces.RSAPrivateKey;
+import java.util.Map;
+
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.RsaSigner;
+import org.springframework.security.jwt.crypto.sign.Signer;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.util.JsonParser;
+import org.springframework.security.oauth2.common.util.JsonParserFactory;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+
+/**
+ * Signs tokens with RS256 and adds id of signing key to token header, so services that verify
+ * tokens with JWK Set can pick right key.
+ */
+public class KeyIdJwtAccessTokenConverter extends JwtAccessTokenConverter {
+
+  private final Signer signer;
+  private final Map<String, String> headers;
+  private final JsonParser jsonParser = JsonParserFactory.create();
+
+  /**
+   * Converter that signs and verifies tokens with given key.
+   *
+   * @param signingKey Signing key
+   */
+  public KeyIdJwtAccessTokenConverter(final JwtSigningKey signingKey) {
+    setKeyPair(signingKey.getKeyPair());
+    this.signer = new RsaSigner((RSAPrivateKey) signingKey.getKeyPair().getPrivate());
+    this.headers = Map.of("kid", signingKey.getKeyId());
+  }
+
+  @Override
+  protected String encode(
+          final OAuth2AccessToken accessToken, final OAuth2Authentication authentication) {
+    final String content =
+            jsonParser.formatMap(getAccessTokenConverter().convertAccessToken(
+                    accessToken, authentication));
+
+    return JwtHelper.encode(content, signer, headers).getEncoded();
+  }
+}
@@ -0,0 +1,42 @@
+package hr.vgsoft.primer.security.configuration;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.login-limit")
+@Data
+public class LoginLimitProperties {
+
+  /**
+   * Token requests allowed from one IP address per minute, after burst is used.
+   */
+  private int ipRequestsPerMinute = 60;
+
+  /**
+   * Token requests one IP address can make at once, before per minute limit applies.
+   */
+  private int ipBurst = 20;
+
+  /**
+   * Password grants allowed for one username per minute, after burst is used.
+   */
+  private int principalRequestsPerMinute = 10;
+
+  /**
+   * Password grants for one username that can be made at once, before per minute limit applies.
+   */
+  private int principalBurst = 5;
+
+  /**
+   * Password grants that verify password hash at the same time, others are rejected at once.
+   */
+  private int maxConcurrentVerifications = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Maximum number of IP addresses and of usernames that are tracked.
+   */
+  private long maxTrackedKeys = 100000;
+}
@@ -0,0 +1,33 @@
+package hr.vgsoft.primer.security.configuration;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+  public static final String ENCODING_ID = "bcrypt";
+
+  /**
+   * Encoder for stored passwords. New passwords are hashed with bcrypt of configured strength,
+   * every increment of strength doubles time of hashing and of every login.
+   *
+   * @param bcryptStrength Bcrypt cost (log rounds)
+   * @return PasswordEncoder
+   */
+  @Bean
+  @SuppressWarnings("deprecation")
+  public PasswordEncoder passwordEncoder(
+          @Value("${custom.password.bcrypt-strength:10}") final int bcryptStrength) {
+    return new DelegatingPasswordEncoder(ENCODING_ID, Map.of(
+            ENCODING_ID, new BCryptPasswordEncoder(bcryptStrength),
+            "noop", NoOpPasswordEncoder.getInstance()));
+  }
+}
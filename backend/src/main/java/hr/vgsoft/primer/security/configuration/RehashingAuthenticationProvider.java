@@ -0,0 +1,30 @@
+package hr.vgsoft.primer.security.configuration;
+
+import hr.vgsoft.primer.security.model.PasswordRehashService;
+
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Authenticates users with username and password and, after successful login, hands password to
+ * {@link PasswordRehashService} so stored hash is changed to current encoding off request thread.
+ */
+public class RehashingAuthenticationProvider extends DaoAuthenticationProvider {
+
+  private final PasswordRehashService passwordRehashService;
+
+  public RehashingAuthenticationProvider(final PasswordRehashService passwordRehashService) {
+    this.passwordRehashService = passwordRehashService;
+  }
+
+  @Override
+  protected Authentication createSuccessAuthentication(
+          final Object principal, final Authentication authentication, final UserDetails user) {
+
+    passwordRehashService.rehashIfNeeded(
+            user.getUsername(), authentication.getCredentials().toString(), user.getPassword());
+
+    return super.createSuccessAuthentication(principal, authentication, user);
+  }
+}
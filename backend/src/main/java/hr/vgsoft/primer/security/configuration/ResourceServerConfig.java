@@ -8,11 +8,24 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.oauth2.config.annotation.web.configuration.EnableResourceServer;
 import org.springframework.security.oauth2.config.annotation.web.configuration.ResourceServerConfigurerAdapter;
+import org.springframework.security.oauth2.config.annotation.web.configurers.ResourceServerSecurityConfigurer;
 
 @Configuration
 @EnableResourceServer
 public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
 
+  private final CachingResourceServerTokenServices resourceServerTokenServices;
+
+  public ResourceServerConfig(
+          final CachingResourceServerTokenServices resourceServerTokenServices) {
+    this.resourceServerTokenServices = resourceServerTokenServices;
+  }
+
+  @Override
+  public void configure(final ResourceServerSecurityConfigurer resources) {
+    resources.tokenServices(resourceServerTokenServices);
+  }
+
   @Override
   public void configure(HttpSecurity http) throws Exception {
     http
@@ -21,6 +34,10 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
             .antMatchers("/").permitAll()
             .antMatchers("/index.html").permitAll()
             .antMatchers("/api/greeting").permitAll()
+            .antMatchers(JwkSetController.JWK_SET_PATH).permitAll()
+            .antMatchers("/actuator/health", "/actuator/info").permitAll()
+            .antMatchers("/actuator/**")
+              .hasRole(UserAuthorityEnum.ROLE_ADMIN.getShortName())
             .antMatchers("/api/**")
               .hasAnyRole(
                       UserAuthorityEnum.ROLE_USER.getShortName(),
@@ -1,5 +1,7 @@
 package hr.vgsoft.primer.security.configuration;
 
+import hr.vgsoft.primer.security.model.PasswordRehashService;
+
 import javax.annotation.Resource;
 
 import lombok.AccessLevel;
@@ -16,6 +18,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -35,9 +38,25 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     return super.authenticationManagerBean();
   }
 
+  /**
+   * Configure authentication with username and password, stored hashes are changed to current
+   * encoding after successful login.
+   *
+   * @param auth Authentication manager builder
+   * @param passwordEncoder Password encoder
+   * @param passwordRehashService Service that changes stored hashes
+   */
   @Autowired
-  public void globalUserDetails(AuthenticationManagerBuilder auth) throws Exception {
-    auth.userDetailsService(userDetailsService);
+  public void globalUserDetails(
+          final AuthenticationManagerBuilder auth,
+          final PasswordEncoder passwordEncoder,
+          final PasswordRehashService passwordRehashService) {
+    final RehashingAuthenticationProvider authenticationProvider =
+            new RehashingAuthenticationProvider(passwordRehashService);
+    authenticationProvider.setUserDetailsService(userDetailsService);
+    authenticationProvider.setPasswordEncoder(passwordEncoder);
+
+    auth.authenticationProvider(authenticationProvider);
   }
 
   @Override
@@ -0,0 +1,73 @@
+package hr.vgsoft.primer.security.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per key, implemented as generic cell rate algorithm. State of bucket is one
+ * {@link AtomicLong} with time when bucket will be full again, so acquiring is one compare and
+ * set without locks. Buckets that were not used long enough to be full again are evicted.
+ */
+public class TokenBucketRateLimiter {
+
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final LongSupplier nanoClock;
+
+  private final Cache<String, AtomicLong> buckets;
+
+  /**
+   * Creates rate limiter.
+   *
+   * @param permitsPerMinute Rate at which bucket is refilled
+   * @param burst Capacity of bucket
+   * @param maxKeys Maximum number of tracked keys
+   */
+  public TokenBucketRateLimiter(final int permitsPerMinute, final int burst, final long maxKeys) {
+    this(permitsPerMinute, burst, maxKeys, System::nanoTime);
+  }
+
+  TokenBucketRateLimiter(
+          final int permitsPerMinute, final int burst, final long maxKeys,
+          final LongSupplier nanoClock) {
+    this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+    this.burstNanos = intervalNanos * burst;
+    this.nanoClock = nanoClock;
+    this.buckets = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterAccess(Duration.ofNanos(burstNanos))
+            .build();
+  }
+
+  /**
+   * Takes one permit from bucket of key if there is one.
+   *
+   * @param key Key of bucket
+   * @return 0 if permit was taken, otherwise nanoseconds until permit will be available
+   */
+  public long tryAcquire(final String key) {
+    final AtomicLong fullAt = buckets.get(key, it -> new AtomicLong(nanoClock.getAsLong()));
+
+    while (true) {
+      final long now = nanoClock.getAsLong();
+      final long current = fullAt.get();
+      final long next = Math.max(current, now) + intervalNanos;
+
+      final long wait = next - now - burstNanos;
+      if (wait > 0) {
+        return wait;
+      }
+      if (fullAt.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  public long trackedKeys() {
+    return buckets.estimatedSize();
+  }
+}
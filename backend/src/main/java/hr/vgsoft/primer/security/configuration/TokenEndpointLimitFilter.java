@@ -0,0 +1,145 @@
+package hr.vgsoft.primer.security.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Protects token endpoint before any authentication is done. Every token request takes permit
+ * from bucket of its IP address and password grant also from bucket of its username. Password
+ * grants then verify password hash only if one of limited number of permits is free, otherwise
+ * they are rejected at once instead of waiting for CPU.
+ */
+@Slf4j
+public class TokenEndpointLimitFilter extends OncePerRequestFilter {
+
+  static final String PASSWORD_GRANT = "password";
+
+  private static final String RATE_LIMITED_ERROR = "too_many_requests";
+  private static final String RATE_LIMITED_DESCRIPTION = "Too many token requests, retry later";
+  private static final String BUSY_ERROR = "temporarily_unavailable";
+  private static final String BUSY_DESCRIPTION =
+          "Server is busy verifying other logins, retry later";
+
+  private final TokenBucketRateLimiter ipLimiter;
+  private final TokenBucketRateLimiter principalLimiter;
+  private final Semaphore verifications;
+
+  private final Counter rejectedByIp;
+  private final Counter rejectedByPrincipal;
+  private final Counter rejectedByConcurrency;
+
+  /**
+   * Creates filter for token endpoint.
+   *
+   * @param properties Limits
+   * @param meterRegistry Registry for metrics of limits
+   */
+  public TokenEndpointLimitFilter(
+          final LoginLimitProperties properties, final MeterRegistry meterRegistry) {
+    this.ipLimiter = new TokenBucketRateLimiter(
+            properties.getIpRequestsPerMinute(), properties.getIpBurst(),
+            properties.getMaxTrackedKeys());
+    this.principalLimiter = new TokenBucketRateLimiter(
+            properties.getPrincipalRequestsPerMinute(), properties.getPrincipalBurst(),
+            properties.getMaxTrackedKeys());
+    this.verifications = new Semaphore(properties.getMaxConcurrentVerifications());
+
+    this.rejectedByIp = rejectedCounter(meterRegistry, "ip");
+    this.rejectedByPrincipal = rejectedCounter(meterRegistry, "principal");
+    this.rejectedByConcurrency = rejectedCounter(meterRegistry, "concurrency");
+
+    final int maxVerifications = properties.getMaxConcurrentVerifications();
+    Gauge.builder("login.verifications.active", verifications,
+            it -> maxVerifications - it.availablePermits())
+            .description("Password grants that are verifying password")
+            .register(meterRegistry);
+    Gauge.builder("login.limit.tracked", ipLimiter, TokenBucketRateLimiter::trackedKeys)
+            .tag("key", "ip")
+            .register(meterRegistry);
+    Gauge.builder("login.limit.tracked", principalLimiter, TokenBucketRateLimiter::trackedKeys)
+            .tag("key", "principal")
+            .register(meterRegistry);
+  }
+
+  @Override
+  protected void doFilterInternal(
+          final HttpServletRequest request, final HttpServletResponse response,
+          final FilterChain filterChain) throws ServletException, IOException {
+
+    final long ipWait = ipLimiter.tryAcquire(request.getRemoteAddr());
+    if (ipWait > 0) {
+      rejectedByIp.increment();
+      reject(response, HttpStatus.TOO_MANY_REQUESTS, ipWait,
+              RATE_LIMITED_ERROR, RATE_LIMITED_DESCRIPTION);
+      return;
+    }
+
+    if (!PASSWORD_GRANT.equals(request.getParameter("grant_type"))) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    final String username = request.getParameter("username");
+    final long principalWait = principalLimiter.tryAcquire(
+            username == null ? "" : username.toLowerCase(Locale.ROOT));
+    if (principalWait > 0) {
+      rejectedByPrincipal.increment();
+      reject(response, HttpStatus.TOO_MANY_REQUESTS, principalWait,
+              RATE_LIMITED_ERROR, RATE_LIMITED_DESCRIPTION);
+      return;
+    }
+
+    if (!verifications.tryAcquire()) {
+      rejectedByConcurrency.increment();
+      reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+              BUSY_ERROR, BUSY_DESCRIPTION);
+      return;
+    }
+
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      verifications.release();
+    }
+  }
+
+  private static void reject(
+          final HttpServletResponse response, final HttpStatus status, final long waitNanos,
+          final String error, final String description) throws IOException {
+    log.debug("Rejecting token request with {}", status);
+
+    // Rounded up, so client that waits doesn't come back too early
+    final long retryAfter = TimeUnit.NANOSECONDS.toSeconds(
+            waitNanos + TimeUnit.SECONDS.toNanos(1) - 1);
+
+    response.setStatus(status.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.getWriter().write("{\"error\":\"" + error + "\","
+            + "\"error_description\":\"" + description + "\"}");
+  }
+
+  private static Counter rejectedCounter(final MeterRegistry meterRegistry, final String reason) {
+    return Counter.builder("login.limit.rejected")
+            .description("Token requests rejected before authentication")
+            .tag("reason", reason)
+            .register(meterRegistry);
+  }
+}
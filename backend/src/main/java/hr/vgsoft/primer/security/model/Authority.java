@@ -8,12 +8,21 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Authority that can be granted to user. Authorities are almost never changed, so they are kept
+ * in second-level cache and looked up by name trough query cache.
+ */
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Authority.CACHE_REGION)
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -22,6 +31,8 @@ import lombok.NoArgsConstructor;
 @Table(name = "authorities")
 public class Authority implements Serializable {
 
+  public static final String CACHE_REGION = "authority-entity";
+
   private static final long serialVersionUID = -3710785924989750257L;
 
   @Id
@@ -31,4 +42,7 @@ public class Authority implements Serializable {
 
   @Column(unique = true, nullable = false)
   private String name;
+
+  @Version
+  private Integer version;
 }
@@ -4,19 +4,28 @@ import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AuthorityRepository extends JpaRepository<Authority, Long> {
 
+  String FIND_BY_NAME_CACHE_REGION = "authority-by-name";
+
   /**
-   * Finds Authority entity for given name string.
+   * Finds Authority entity for given name string. Result is cached in query cache and is
+   * invalidated by any change of authorities table.
    *
    * @param name String with name, eg. ROLE_USER
    * @return Authority if it exists
    */
+  @QueryHints({
+          @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+          @QueryHint(name = "org.hibernate.cacheRegion", value = FIND_BY_NAME_CACHE_REGION)})
   Optional<Authority> findByName(String name);
 
   /**
@@ -8,23 +8,29 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.context.ApplicationListener;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Profile;
-import org.springframework.context.event.ContextRefreshedEvent;
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+/**
+ * Inserts fixture users once per application start. Runs before
+ * {@link hr.vgsoft.primer.testdata.SyntheticDataGenerator}, which adds users to ROLE_USER.
+ */
 @Slf4j
 @Profile({"default", "staging"})
 @Getter(AccessLevel.PRIVATE)
+@Order(0)
 @Component
-public class LoadUsersForDefaultProfile implements ApplicationListener<ContextRefreshedEvent> {
+public class LoadUsersForDefaultProfile implements ApplicationRunner {
 
   public static final String PASSWORD = "password";
   public static final String LAST_NAME = "Calories";
   private final AuthorityRepository authorityRepository;
   private final UserRepository userRepository;
+  private final PasswordEncoder passwordEncoder;
 
 
   private Authority user;
@@ -37,16 +43,19 @@ public class LoadUsersForDefaultProfile implements ApplicationListener<ContextRe
    * bean for inserting test data.
    * @param authorityRepository Authority repository
    * @param userRepository User repository
+   * @param passwordEncoder Password encoder
    */
   public LoadUsersForDefaultProfile(
           final AuthorityRepository authorityRepository,
-          final UserRepository userRepository) {
+          final UserRepository userRepository,
+          final PasswordEncoder passwordEncoder) {
     this.authorityRepository = authorityRepository;
     this.userRepository = userRepository;
+    this.passwordEncoder = passwordEncoder;
   }
 
   @Override
-  public void onApplicationEvent(final ContextRefreshedEvent event) {
+  public void run(final ApplicationArguments args) {
     log.info("Creating sample data");
 
     initializeAuthorities();
@@ -56,9 +65,6 @@ public class LoadUsersForDefaultProfile implements ApplicationListener<ContextRe
   }
 
   private void initializeUsers() {
-    final PasswordEncoder passwordEncoder =
-            PasswordEncoderFactories.createDelegatingPasswordEncoder();
-
     User una = User.builder()
             .email("una@test.com")
             .password(passwordEncoder.encode(PASSWORD))
@@ -153,12 +159,15 @@ public class LoadUsersForDefaultProfile implements ApplicationListener<ContextRe
   }
 
   private void initializeAuthorities() {
-    user = authorityRepository.save(Authority.builder()
-            .name(UserAuthorityEnum.ROLE_USER.name()).build());
-    admin = authorityRepository.save(Authority.builder()
-            .name(UserAuthorityEnum.ROLE_ADMIN.name()).build());
-    userManager = authorityRepository.save(Authority.builder()
-            .name(UserAuthorityEnum.ROLE_USER_MANAGER.name()).build());
+    user = findOrSaveAuthority(UserAuthorityEnum.ROLE_USER);
+    admin = findOrSaveAuthority(UserAuthorityEnum.ROLE_ADMIN);
+    userManager = findOrSaveAuthority(UserAuthorityEnum.ROLE_USER_MANAGER);
+  }
+
+  private Authority findOrSaveAuthority(final UserAuthorityEnum authority) {
+    return authorityRepository.findByName(authority.name())
+            .orElseGet(() -> authorityRepository.save(Authority.builder()
+                    .name(authority.name()).build()));
   }
 
 }
@@ -0,0 +1,111 @@
+package hr.vgsoft.primer.security.model;
+
+import hr.vgsoft.primer.security.configuration.PasswordEncoderConfig;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Changes stored password hash to current encoding after successful login, so changed bcrypt
+ * strength is applied (up or down) without forced migration. Hashing is done on single
+ * background thread with bounded queue, when queue is full password is hashed on some later
+ * login.
+ */
+@Slf4j
+@Service
+public class PasswordRehashService {
+
+  static final int QUEUE_CAPACITY = 100;
+
+  private static final String PREFIX = "{" + PasswordEncoderConfig.ENCODING_ID + "}";
+
+  private static final Pattern BCRYPT_COST =
+          Pattern.compile("^" + Pattern.quote(PREFIX) + "\\$2[aby]?\\$(\\d\\d)\\$");
+
+  private final UserRepository userRepository;
+  private final PasswordEncoder passwordEncoder;
+  private final TransactionTemplate transactionTemplate;
+  private final int bcryptStrength;
+  private final boolean enabled;
+
+  private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+          1, 1, 1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+          new CustomizableThreadFactory("password-rehash-"),
+          new ThreadPoolExecutor.DiscardPolicy());
+
+  /**
+   * Service that changes stored password hashes.
+   *
+   * @param userRepository User repository
+   * @param passwordEncoder Encoder of new hashes
+   * @param transactionManager Transaction manager
+   * @param bcryptStrength Bcrypt strength of passwordEncoder
+   * @param enabled If false stored hashes are never changed
+   */
+  public PasswordRehashService(
+          final UserRepository userRepository,
+          final PasswordEncoder passwordEncoder,
+          final PlatformTransactionManager transactionManager,
+          @Value("${custom.password.bcrypt-strength:10}") final int bcryptStrength,
+          @Value("${custom.password.rehash-on-login:true}") final boolean enabled) {
+    this.userRepository = userRepository;
+    this.passwordEncoder = passwordEncoder;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.bcryptStrength = bcryptStrength;
+    this.enabled = enabled;
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Schedules rehash of password if stored hash has other encoding or strength.
+   *
+   * @param email User email
+   * @param rawPassword Password user logged in with
+   * @param encodedPassword Stored hash that password was checked against
+   */
+  public void rehashIfNeeded(
+          final String email, final String rawPassword, final String encodedPassword) {
+    if (enabled && needsRehash(encodedPassword)) {
+      executor.execute(() -> rehash(email, rawPassword, encodedPassword));
+    }
+  }
+
+  boolean needsRehash(final String encodedPassword) {
+    final Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+
+    return !matcher.find() || Integer.parseInt(matcher.group(1)) != bcryptStrength;
+  }
+
+  /**
+   * Stores new hash only if stored hash was not changed in meantime, for example by password
+   * change.
+   */
+  void rehash(final String email, final String rawPassword, final String encodedPassword) {
+    final String newPassword = passwordEncoder.encode(rawPassword);
+
+    transactionTemplate.executeWithoutResult(status -> userRepository.findByEmail(email)
+            .filter(it -> encodedPassword.equals(it.getPassword()))
+            .ifPresent(it -> {
+              log.debug("Rehashing password of {}", email);
+              it.changePassword(newPassword);
+            }));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
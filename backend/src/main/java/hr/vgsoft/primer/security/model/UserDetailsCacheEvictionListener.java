@@ -0,0 +1,116 @@
+package hr.vgsoft.primer.security.model;
+
+import java.util.Arrays;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts cached user details when user is changed (lock, unlock, password change...), deleted or
+ * its authorities are changed. Entity changes are observed trough Hibernate events, so eviction
+ * doesn't depend on code that changes user. Entry is evicted when change is flushed and again
+ * after commit, so user details loaded between flush and commit are not kept.
+ */
+@Slf4j
+@Component
+public class UserDetailsCacheEvictionListener implements PostUpdateEventListener,
+        PostDeleteEventListener, PostCollectionUpdateEventListener {
+
+  private static final long serialVersionUID = 2617049815335271548L;
+
+  private final transient EntityManagerFactory entityManagerFactory;
+  private final transient Cache userDetailsCache;
+
+  public UserDetailsCacheEvictionListener(
+          final EntityManagerFactory entityManagerFactory, final CacheManager cacheManager) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.userDetailsCache = cacheManager.getCache(UserServiceImpl.USER_DETAILS_CACHE);
+  }
+
+  /**
+   * Registers listener in Hibernate.
+   */
+  @PostConstruct
+  public void register() {
+    final EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+
+    registry.appendListeners(EventType.POST_UPDATE, this);
+    registry.appendListeners(EventType.POST_DELETE, this);
+    registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+  }
+
+  @Override
+  public void onPostUpdate(final PostUpdateEvent event) {
+    if (event.getEntity() instanceof User) {
+      evict(((User) event.getEntity()).getEmail());
+
+      // Old email when email itself was changed
+      final int emailIndex = Arrays.asList(event.getPersister().getPropertyNames())
+              .indexOf("email");
+      if (event.getOldState() != null && emailIndex >= 0) {
+        evict((String) event.getOldState()[emailIndex]);
+      }
+    }
+  }
+
+  @Override
+  public void onPostDelete(final PostDeleteEvent event) {
+    if (event.getEntity() instanceof User) {
+      evict(((User) event.getEntity()).getEmail());
+    }
+  }
+
+  @Override
+  public void onPostUpdateCollection(final PostCollectionUpdateEvent event) {
+    if (event.getAffectedOwnerOrNull() instanceof User) {
+      evict(((User) event.getAffectedOwnerOrNull()).getEmail());
+    }
+  }
+
+  // Still abstract in this Hibernate version, requiresPostCommitHandling delegates to it
+  @Override
+  @SuppressWarnings("deprecation")
+  public boolean requiresPostCommitHanding(final EntityPersister persister) {
+    return false;
+  }
+
+  private void evict(final String email) {
+    if (email == null) {
+      return;
+    }
+
+    log.debug("Evicting user details of {}", email);
+    userDetailsCache.evict(email);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+              new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                  userDetailsCache.evict(email);
+                }
+              });
+    }
+  }
+}
@@ -6,10 +6,10 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,28 +19,49 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class UserServiceImpl implements UserService {
 
+  public static final String USER_DETAILS_CACHE = "userDetails";
+
   private final UserRepository userRepository;
 
-  private final PasswordEncoder passwordEncoder =
-          PasswordEncoderFactories.createDelegatingPasswordEncoder();
+  private final Cache userDetailsCache;
 
   /**
    * User service that deals with User entity.
    * @param userRepository User repository
+   * @param cacheManager Cache manager with userDetails cache
    */
   public UserServiceImpl(
-          final UserRepository userRepository) {
+          final UserRepository userRepository,
+          final CacheManager cacheManager) {
     this.userRepository = userRepository;
+    this.userDetailsCache = cacheManager.getCache(USER_DETAILS_CACHE);
   }
 
+  /**
+   * Loads user with authorities from cache or database. Cached entry is evicted by
+   * {@link UserDetailsCacheEvictionListener} when user or its authorities change. Copy of cached
+   * entry is returned because authentication erases password of returned principal.
+   */
+  @Transactional(readOnly = true)
   @Override
   public UserDetails loadUserByUsername(final String email) throws UsernameNotFoundException {
-    Optional<User> user = userRepository.findByEmailWithAuthorities(email);
-    if (user.isPresent()) {
-      return user.get();
-    } else {
-      throw new UsernameNotFoundException(email);
+    UserDetails userDetails = userDetailsCache.get(email, UserDetails.class);
+
+    if (userDetails == null) {
+      final Optional<User> user = userRepository.findByEmailWithAuthorities(email);
+      if (user.isEmpty()) {
+        throw new UsernameNotFoundException(email);
+      }
+
+      userDetails = org.springframework.security.core.userdetails.User
+              .withUserDetails(user.get())
+              .build();
+      userDetailsCache.put(email, userDetails);
     }
+
+    return org.springframework.security.core.userdetails.User
+            .withUserDetails(userDetails)
+            .build();
   }
 
 }
@@ -0,0 +1,192 @@
+package hr.vgsoft.primer.testdata;
+
+import hr.vgsoft.primer.item.ItemPageCache;
+import hr.vgsoft.primer.security.model.Authority;
+import hr.vgsoft.primer.security.model.AuthorityRepository;
+import hr.vgsoft.primer.security.model.UserAuthorityEnum;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Inserts configured number of items and users at startup, for capacity testing. Rows are
+ * inserted with plain JDBC batches and not trough entities, so millions of rows don't go trough
+ * persistence context. Runner is called once per application start and generator itself runs
+ * only once, even if it is called again.
+ *
+ * <p>Amounts are set with {@code custom.synthetic-data.*}, in {@code capacity} profile or on
+ * command line, for example {@code --custom.synthetic-data.items=5000000}.
+ */
+@Slf4j
+@Component
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+  static final String INSERT_ITEM =
+          "INSERT INTO items (uuid, name, description, version) VALUES (?, ?, ?, 0)";
+  static final String INSERT_USER = "INSERT INTO users "
+          + "(user_uuid, email, enabled, first_name, last_name, locked, password) "
+          + "VALUES (?, ?, TRUE, ?, ?, FALSE, ?)";
+  static final String INSERT_USER_AUTHORITY =
+          "INSERT INTO user_authorities (user_uuid, authority_id) VALUES (?, ?)";
+
+  private static final long PROGRESS_ROWS = 100_000;
+
+  private final SyntheticDataProperties properties;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final AuthorityRepository authorityRepository;
+  private final PasswordEncoder passwordEncoder;
+  private final ItemPageCache itemPageCache;
+
+  private final AtomicBoolean generated = new AtomicBoolean();
+
+  /**
+   * Creates generator.
+   *
+   * @param properties Amounts of generated rows
+   * @param jdbcTemplate JDBC template for batches
+   * @param transactionManager Transaction manager used for transaction of every batch
+   * @param authorityRepository Authority repository, ROLE_USER is created if it doesn't exist
+   * @param passwordEncoder Encoder of password of generated users
+   * @param itemPageCache Cache of item pages, evicted after items are generated
+   */
+  public SyntheticDataGenerator(
+          final SyntheticDataProperties properties,
+          final JdbcTemplate jdbcTemplate,
+          final PlatformTransactionManager transactionManager,
+          final AuthorityRepository authorityRepository,
+          final PasswordEncoder passwordEncoder,
+          final ItemPageCache itemPageCache) {
+    this.properties = properties;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.authorityRepository = authorityRepository;
+    this.passwordEncoder = passwordEncoder;
+    this.itemPageCache = itemPageCache;
+  }
+
+  @Override
+  public void run(final ApplicationArguments args) {
+    generate();
+  }
+
+  /**
+   * Generates configured items and users, only on first call.
+   */
+  public void generate() {
+    if (!generated.compareAndSet(false, true)) {
+      log.debug("Synthetic data was already generated");
+      return;
+    }
+
+    final SyntheticText text = new SyntheticText(properties.getSeed());
+
+    if (properties.getItems() > 0) {
+      generateItems(text);
+    }
+    if (properties.getUsers() > 0) {
+      generateUsers(text);
+    }
+  }
+
+  private void generateItems(final SyntheticText text) {
+    final long inserted = insert("items", properties.getItems(), count -> {
+      final List<Object[]> items = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        items.add(new Object[] {UUID.randomUUID(), text.name(), text.description()});
+      }
+
+      jdbcTemplate.batchUpdate(INSERT_ITEM, items);
+      return null;
+    });
+
+    // Generation is advanced, so every page, fingerprint and search index is loaded again
+    itemPageCache.itemsChanged(inserted);
+  }
+
+  private void generateUsers(final SyntheticText text) {
+    final Long authorityId = authorityRepository
+            .findByName(UserAuthorityEnum.ROLE_USER.name())
+            .orElseGet(() -> authorityRepository.save(Authority.builder()
+                    .name(UserAuthorityEnum.ROLE_USER.name()).build()))
+            .getId();
+
+    // Hashing is slow on purpose, all users share one hash
+    final String password = passwordEncoder.encode(properties.getUserPassword());
+    final String run = UUID.randomUUID().toString().substring(0, 8);
+
+    insert("users", properties.getUsers(), count -> {
+      final List<Object[]> users = new ArrayList<>(count);
+      final List<Object[]> userAuthorities = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        final UUID uuid = UUID.randomUUID();
+        final String firstName = text.firstName();
+        final String lastName = text.lastName();
+        final String email = (firstName + "." + lastName + "." + run + "." + uuid.toString()
+                .substring(0, 8) + "@generated.test").toLowerCase(Locale.ROOT);
+
+        users.add(new Object[] {uuid, email, firstName, lastName, password});
+        userAuthorities.add(new Object[] {uuid, authorityId});
+      }
+
+      jdbcTemplate.batchUpdate(INSERT_USER, users);
+      jdbcTemplate.batchUpdate(INSERT_USER_AUTHORITY, userAuthorities);
+      return null;
+    });
+  }
+
+  /**
+   * Inserts rows in batches, every batch in own transaction, and reports rows per second.
+   *
+   * @param table Name of table for log
+   * @param total Number of rows
+   * @param batch Inserts given number of rows
+   * @return Number of inserted rows
+   */
+  private long insert(
+          final String table, final long total, final Function<Integer, Void> batch) {
+    log.info("Generating {} rows in {} with batches of {}", total, table,
+            properties.getBatchSize());
+
+    final long start = System.nanoTime();
+    long inserted = 0;
+    long nextProgress = PROGRESS_ROWS;
+
+    while (inserted < total) {
+      final int count = (int) Math.min(properties.getBatchSize(), total - inserted);
+      transactionTemplate.execute(status -> batch.apply(count));
+      inserted += count;
+
+      if (inserted >= nextProgress) {
+        log.info("Generated {} of {} rows in {}, {} rows/s", inserted, total, table,
+                rowsPerSecond(inserted, start));
+        nextProgress += PROGRESS_ROWS;
+      }
+    }
+
+    log.info("Generated {} rows in {} in {} ms, {} rows/s", inserted, table,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+            rowsPerSecond(inserted, start));
+
+    return inserted;
+  }
+
+  private static long rowsPerSecond(final long rows, final long start) {
+    final long nanos = Math.max(1, System.nanoTime() - start);
+    return rows * TimeUnit.SECONDS.toNanos(1) / nanos;
+  }
+}
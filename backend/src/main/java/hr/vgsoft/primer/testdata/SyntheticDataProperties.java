@@ -0,0 +1,37 @@
+package hr.vgsoft.primer.testdata;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "custom.synthetic-data")
+@Data
+public class SyntheticDataProperties {
+
+  /**
+   * Number of items inserted at startup, 0 turns generation of items off.
+   */
+  private long items = 0;
+
+  /**
+   * Number of users with ROLE_USER inserted at startup, 0 turns generation of users off.
+   */
+  private long users = 0;
+
+  /**
+   * Rows inserted with one JDBC batch, every batch is one transaction.
+   */
+  private int batchSize = 1000;
+
+  /**
+   * Password of all generated users, it is hashed only once.
+   */
+  private String userPassword = "password";
+
+  /**
+   * Seed of generated names and descriptions, same seed gives same texts.
+   */
+  private long seed = 42;
+}
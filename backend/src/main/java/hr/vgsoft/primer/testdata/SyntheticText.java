@@ -0,0 +1,72 @@
+package hr.vgsoft.primer.testdata;
+
+import java.util.Random;
+
+/**
+ * Generates pronounceable texts whose lengths are spread like real names: most are short, few
+ * are long and some fill whole {@value #MAX_LENGTH} characters of column.
+ */
+class SyntheticText {
+
+  static final int MAX_LENGTH = 100;
+
+  private static final String[] SYLLABLES = {
+      "ka", "lo", "mi", "ra", "ne", "to", "vi", "sa", "do", "ru", "be", "ti", "ko", "la", "zi",
+      "an", "el", "or", "us", "in", "mar", "ten", "gal", "bro", "stel", "vin", "kor", "dam"};
+
+  private static final String[] FIRST_NAMES = {
+      "Ana", "Ivan", "Marko", "Petra", "Luka", "Iva", "Josip", "Maja", "Tomislav", "Ema",
+      "Karlo", "Lucija", "Filip", "Sara", "Matej", "Nika", "David", "Lana", "Ante", "Mia"};
+
+  private final Random random;
+
+  SyntheticText(final long seed) {
+    this.random = new Random(seed);
+  }
+
+  String name() {
+    return text(3, 20);
+  }
+
+  String description() {
+    return text(10, 50);
+  }
+
+  String firstName() {
+    return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+  }
+
+  String lastName() {
+    return capitalize(word());
+  }
+
+  /**
+   * Text of words with exponentially distributed length, cut to column size.
+   */
+  private String text(final int minLength, final int meanLength) {
+    final double exponential = -Math.log(1 - random.nextDouble()) * (meanLength - minLength);
+    final int length = (int) Math.min(MAX_LENGTH, minLength + Math.round(exponential));
+
+    final StringBuilder text = new StringBuilder(length + 16);
+    text.append(capitalize(word()));
+    while (text.length() < length) {
+      text.append(' ').append(word());
+    }
+    text.setLength(length);
+
+    return text.toString().strip();
+  }
+
+  private String word() {
+    final int syllables = 1 + random.nextInt(4);
+    final StringBuilder word = new StringBuilder();
+    for (int i = 0; i < syllables; i++) {
+      word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+    }
+    return word.toString();
+  }
+
+  private static String capitalize(final String word) {
+    return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+  }
+}
@@ -0,0 +1 @@
+CREATE INDEX items_name_uuid_idx ON items (name, uuid);
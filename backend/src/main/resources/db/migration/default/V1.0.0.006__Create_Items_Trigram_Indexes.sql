@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX items_name_trgm_idx ON items USING gin (name gin_trgm_ops);
+CREATE INDEX items_description_trgm_idx ON items USING gin (description gin_trgm_ops);
@@ -0,0 +1,3 @@
+ALTER TABLE authorities ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
+
+GRANT UPDATE (version) ON authorities TO vguser;
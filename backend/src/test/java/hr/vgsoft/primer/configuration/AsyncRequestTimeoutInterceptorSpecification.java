@@ -0,0 +1,48 @@
+package hr.vgsoft.primer.configuration;
+
+import java.time.Duration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+
+class AsyncRequestTimeoutInterceptorSpecification {
+
+  private MockHttpServletRequest servletRequest;
+  private StandardServletAsyncWebRequest request;
+
+  @BeforeEach
+  void setup() {
+    servletRequest = new MockHttpServletRequest();
+    servletRequest.setAsyncSupported(true);
+    request = new StandardServletAsyncWebRequest(servletRequest, new MockHttpServletResponse());
+  }
+
+  @Test
+  void shouldSetTimeoutChosenByHandler() throws Exception {
+    AsyncRequestTimeoutInterceptor.setTimeout(request, Duration.ofMinutes(30));
+
+    new AsyncRequestTimeoutInterceptor().beforeConcurrentHandling(request, () -> null);
+    request.startAsync();
+
+    Assertions.assertThat(timeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+  }
+
+  @Test
+  void shouldKeepDefaultTimeoutOfOtherRequests() throws Exception {
+    request.setTimeout(10_000L);
+
+    new AsyncRequestTimeoutInterceptor().beforeConcurrentHandling(request, () -> null);
+    request.startAsync();
+
+    Assertions.assertThat(timeout()).isEqualTo(10_000L);
+  }
+
+  private long timeout() {
+    return ((MockAsyncContext) servletRequest.getAsyncContext()).getTimeout();
+  }
+}
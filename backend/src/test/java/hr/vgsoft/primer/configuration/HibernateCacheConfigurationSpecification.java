@@ -0,0 +1,120 @@
+package hr.vgsoft.primer.configuration;
+
+import hr.vgsoft.primer.item.Item;
+import hr.vgsoft.primer.item.ItemRepository;
+import hr.vgsoft.primer.security.model.Authority;
+import hr.vgsoft.primer.security.model.AuthorityRepository;
+import java.util.UUID;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Entities are committed because second-level cache is updated only after commit.
+ */
+@DataJpaTest
+@EnableConfigurationProperties(CacheProperties.class)
+@Import(HibernateCacheConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HibernateCacheConfigurationSpecification {
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  @Autowired
+  private AuthorityRepository authorityRepository;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setup() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @AfterEach
+  void cleanup() {
+    itemRepository.deleteAll();
+    authorityRepository.deleteAll();
+  }
+
+  @Test
+  void shouldLoadItemFromSecondLevelCacheWithoutQuery() {
+    final Item item = itemRepository.save(new Item(UUID.randomUUID(), "Name", "Description"));
+    statistics.clear();
+
+    Assertions.assertThat(itemRepository.findById(item.getUuid()))
+            .hasValueSatisfying(it -> Assertions.assertThat(it.getName()).isEqualTo("Name"));
+    Assertions.assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void shouldReplaceCachedItemWithNewerVersion() {
+    final Item item = itemRepository.save(new Item(UUID.randomUUID(), "Name", "Description"));
+    item.setName("Changed name");
+    itemRepository.save(item);
+    statistics.clear();
+
+    Assertions.assertThat(itemRepository.findById(item.getUuid()))
+            .hasValueSatisfying(it -> {
+              Assertions.assertThat(it.getName()).isEqualTo("Changed name");
+              Assertions.assertThat(it.getVersion()).isEqualTo(1);
+            });
+    Assertions.assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void shouldKeepOtherItemsCachedAfterConditionalWrites() {
+    final Item updated = itemRepository.save(new Item(UUID.randomUUID(), "Name", "Description"));
+    final Item deleted = itemRepository.save(new Item(UUID.randomUUID(), "Name", "Description"));
+    final Item other = itemRepository.save(new Item(UUID.randomUUID(), "Other", "Description"));
+
+    Assertions.assertThat(itemRepository.updateIfVersion(updated.getUuid(), 0, "New", "New"))
+            .isEqualTo(1);
+    Assertions.assertThat(itemRepository.deleteIfVersion(deleted.getUuid(), 0)).isEqualTo(1);
+
+    Assertions.assertThat(entityManagerFactory.getCache().contains(Item.class, other.getUuid()))
+            .isTrue();
+  }
+
+  @Test
+  void shouldFindAuthorityByNameFromQueryCache() {
+    authorityRepository.save(Authority.builder().name("ROLE_CACHED").build());
+    authorityRepository.findByName("ROLE_CACHED");
+    statistics.clear();
+
+    Assertions.assertThat(authorityRepository.findByName("ROLE_CACHED")).isPresent();
+    Assertions.assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void shouldInvalidateCachedQueryWhenAuthorityChanges() {
+    final Authority authority =
+            authorityRepository.save(Authority.builder().name("ROLE_CACHED").build());
+    authorityRepository.findByName("ROLE_CACHED");
+
+    authority.setName("ROLE_RENAMED");
+    authorityRepository.save(authority);
+
+    Assertions.assertThat(authorityRepository.findByName("ROLE_CACHED")).isEmpty();
+    Assertions.assertThat(authorityRepository.findByName("ROLE_RENAMED"))
+            .hasValueSatisfying(it -> Assertions.assertThat(it.getVersion()).isEqualTo(1));
+  }
+}
@@ -0,0 +1,173 @@
+package hr.vgsoft.primer.configuration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Primary and replica are two in-memory H2 databases, every one knows its own name.
+ */
+class ReplicaRoutingDataSourceSpecification {
+
+  private static final Duration MAX_LAG = Duration.ofSeconds(5);
+  private static final Duration RETRY_AFTER = Duration.ofSeconds(30);
+
+  private final AtomicLong nanoClock = new AtomicLong();
+  private final AtomicBoolean replicaDown = new AtomicBoolean();
+
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate readOnlyTransaction;
+  private TransactionTemplate readWriteTransaction;
+  private TransactionTemplate newReadOnlyTransaction;
+
+  @BeforeEach
+  void setup() {
+    final DataSource primary = database("routing_primary");
+    final DataSource replica = new DelegatingDataSource(database("routing_replica")) {
+      @Override
+      public Connection getConnection() throws SQLException {
+        if (replicaDown.get()) {
+          throw new SQLException("Replica is down");
+        }
+        return super.getConnection();
+      }
+    };
+
+    final DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+            primary, replica, MAX_LAG, RETRY_AFTER, nanoClock::get));
+    final DataSourceTransactionManager transactionManager =
+            new DataSourceTransactionManager(dataSource);
+
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+    readWriteTransaction = new TransactionTemplate(transactionManager);
+    newReadOnlyTransaction = new TransactionTemplate(transactionManager);
+    newReadOnlyTransaction.setReadOnly(true);
+    newReadOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  @Test
+  void shouldReadFromReplicaInReadOnlyTransaction() {
+    Assertions.assertThat(readOnly()).isEqualTo("routing_replica");
+  }
+
+  @Test
+  void shouldUsePrimaryInReadWriteTransactionAndWithoutTransaction() {
+    Assertions.assertThat(readWrite()).isEqualTo("routing_primary");
+    Assertions.assertThat(database()).isEqualTo("routing_primary");
+  }
+
+  @Test
+  void shouldReadFromPrimaryUntilReplicaCaughtUpWithCommittedWrite() {
+    readWriteTransaction.executeWithoutResult(status -> write());
+
+    Assertions.assertThat(readOnly()).isEqualTo("routing_primary");
+
+    nanoClock.addAndGet(MAX_LAG.toNanos());
+
+    Assertions.assertThat(readOnly()).isEqualTo("routing_replica");
+  }
+
+  @Test
+  void shouldKeepReadingFromReplicaAfterReadWriteTransactionThatOnlyRead() {
+    readWrite();
+
+    Assertions.assertThat(readOnly()).isEqualTo("routing_replica");
+  }
+
+  @Test
+  void shouldReadFromPrimaryAfterWriteWithoutTransaction() {
+    write();
+
+    Assertions.assertThat(readOnly()).isEqualTo("routing_primary");
+  }
+
+  @Test
+  void shouldReadFromPrimaryInSynchronizationRegisteredBeforeWrite() {
+    final AtomicReference<String> readAfterCommit = new AtomicReference<>();
+
+    readWriteTransaction.executeWithoutResult(status -> {
+      // Like cache invalidation that is registered before write is flushed
+      TransactionSynchronizationManager.registerSynchronization(
+              new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                  readAfterCommit.set(newReadOnlyTransaction.execute(it -> database()));
+                }
+              });
+      write();
+    });
+
+    Assertions.assertThat(readAfterCommit.get()).isEqualTo("routing_primary");
+  }
+
+  @Test
+  void shouldKeepReadingFromReplicaAfterRolledBackWrite() {
+    readWriteTransaction.executeWithoutResult(status -> {
+      write();
+      status.setRollbackOnly();
+    });
+
+    Assertions.assertThat(readOnly()).isEqualTo("routing_replica");
+  }
+
+  @Test
+  void shouldFallBackToPrimaryWhileReplicaIsDown() {
+    replicaDown.set(true);
+
+    Assertions.assertThat(readOnly()).isEqualTo("routing_primary");
+
+    replicaDown.set(false);
+
+    Assertions.assertThat(readOnly()).isEqualTo("routing_primary");
+
+    nanoClock.addAndGet(RETRY_AFTER.toNanos());
+
+    Assertions.assertThat(readOnly()).isEqualTo("routing_replica");
+  }
+
+  private String readOnly() {
+    return readOnlyTransaction.execute(status -> database());
+  }
+
+  private String readWrite() {
+    return readWriteTransaction.execute(status -> database());
+  }
+
+  private void write() {
+    jdbcTemplate.update("UPDATE node SET name = name");
+  }
+
+  private String database() {
+    return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+  }
+
+  private static DataSource database(final String name) {
+    final DataSource dataSource =
+            new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+    final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(100))");
+    jdbcTemplate.update("DELETE FROM node");
+    jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+    return dataSource;
+  }
+}
@@ -0,0 +1,13 @@
+package hr.vgsoft.primer.item;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DatabaseItemSearchSpecification {
+
+  @Test
+  void shouldMatchWildcardsOfQueryLiterally() {
+    Assertions.assertThat(DatabaseItemSearch.containsPattern("50%_off\\"))
+            .isEqualTo("%50\\%\\_off\\\\%");
+  }
+}
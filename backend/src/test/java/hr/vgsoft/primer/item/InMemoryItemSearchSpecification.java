@@ -0,0 +1,111 @@
+package hr.vgsoft.primer.item;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Items are committed because index is invalidated only after commit.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InMemoryItemSearchSpecification {
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  private final ItemsGeneration itemsGeneration = new ItemsGeneration();
+
+  private InMemoryItemSearch itemSearch;
+
+  @BeforeEach
+  void setup() {
+    itemSearch = new InMemoryItemSearch(itemRepository, itemsGeneration, entityManager);
+
+    persist("Green apple", "Sour fruit");
+    persist("Red apple", "Sweet fruit");
+    persist("Banana", "Yellow and sweet");
+    persist("Pineapple", "Tropical fruit");
+  }
+
+  @AfterEach
+  void cleanup() {
+    itemRepository.deleteAll();
+  }
+
+  @Test
+  void shouldFindSubstringOfNameIgnoringCase() {
+    Assertions.assertThat(names(search("APPLE", PageRequest.of(0, 10))))
+            .containsExactly("Green apple", "Pineapple", "Red apple");
+  }
+
+  @Test
+  void shouldFindSubstringOfDescription() {
+    Assertions.assertThat(names(search("sweet", PageRequest.of(0, 10))))
+            .containsExactly("Banana", "Red apple");
+  }
+
+  @Test
+  void shouldFindQueryShorterThanTrigram() {
+    Assertions.assertThat(names(search("ba", PageRequest.of(0, 10))))
+            .containsExactly("Banana");
+  }
+
+  @Test
+  void shouldNotMatchAcrossNameAndDescription() {
+    Assertions.assertThat(search("applesour", PageRequest.of(0, 10))).isEmpty();
+  }
+
+  @Test
+  void shouldPageResultsAndCountAllMatches() {
+    final Page<Item> page = search("fruit", PageRequest.of(1, 2));
+
+    Assertions.assertThat(names(page)).containsExactly("Red apple");
+    Assertions.assertThat(page.getTotalElements()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldRebuildIndexWhenItemsChange() {
+    Assertions.assertThat(search("cherry", PageRequest.of(0, 10))).isEmpty();
+
+    persist("Cherry", "Small fruit");
+    itemsGeneration.advance(() -> { });
+
+    Assertions.assertThat(names(search("cherry", PageRequest.of(0, 10))))
+            .containsExactly("Cherry");
+  }
+
+  private Page<Item> search(final String query, final PageRequest pageable) {
+    return new TransactionTemplate(transactionManager)
+            .execute(status -> itemSearch.search(query, pageable));
+  }
+
+  private void persist(final String name, final String description) {
+    itemRepository.save(new Item(UUID.randomUUID(), name, description));
+  }
+
+  private static List<String> names(final Page<Item> page) {
+    return page.getContent().stream().map(Item::getName).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,131 @@
+package hr.vgsoft.primer.item;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import javax.persistence.EntityManager;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ItemBatchServiceSpecification {
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  private ConcurrentMapCacheManager cacheManager;
+  private ItemsGeneration itemsGeneration;
+  private ItemBatchService itemBatchService;
+
+  @BeforeEach
+  void setup() {
+    cacheManager = new ConcurrentMapCacheManager();
+    itemsGeneration = new ItemsGeneration();
+    itemBatchService = new ItemBatchService(itemRepository,
+            new ItemPageCache(cacheManager, itemsGeneration, Duration.ofMinutes(5)),
+            entityManager, transactionManager, cacheManager, 2);
+  }
+
+  @AfterEach
+  void cleanup() {
+    itemRepository.deleteAll();
+  }
+
+  @Test
+  void shouldApplyOperationsInChunks() {
+    final Item updated = itemRepository.save(new Item(UUID.randomUUID(), "Old", "Old"));
+    final Item deleted = itemRepository.save(new Item(UUID.randomUUID(), "Gone", "Gone"));
+
+    final List<ItemBatchResult> results = itemBatchService.apply(List.of(
+            new ItemBatchOperation(ItemBatchOperation.Type.CREATE, null, "First", "First"),
+            new ItemBatchOperation(ItemBatchOperation.Type.CREATE, null, "Second", "Second"),
+            new ItemBatchOperation(ItemBatchOperation.Type.UPDATE, updated.getUuid(), "New", "New"),
+            new ItemBatchOperation(ItemBatchOperation.Type.DELETE, deleted.getUuid(), null, null)
+    ).iterator());
+
+    Assertions.assertThat(results)
+            .extracting(ItemBatchResult::getIndex, ItemBatchResult::getStatus)
+            .containsExactly(
+                    Assertions.tuple(0, 201),
+                    Assertions.tuple(1, 201),
+                    Assertions.tuple(2, 200),
+                    Assertions.tuple(3, 200));
+
+    Assertions.assertThat(itemRepository.findAll())
+            .extracting(Item::getName)
+            .containsExactlyInAnyOrder("First", "Second", "New");
+    Assertions.assertThat(itemRepository.findById(updated.getUuid()).get().getVersion())
+            .isEqualTo(updated.getVersion() + 1);
+  }
+
+  @Test
+  void shouldReportInvalidAndMissingItemsWithoutStoppingBatch() {
+    final List<ItemBatchResult> results = itemBatchService.apply(List.of(
+            new ItemBatchOperation(ItemBatchOperation.Type.CREATE, null, "", "Empty name"),
+            new ItemBatchOperation(ItemBatchOperation.Type.DELETE, UUID.randomUUID(), null, null),
+            new ItemBatchOperation(ItemBatchOperation.Type.CREATE, null, "Valid", "Valid")
+    ).iterator());
+
+    Assertions.assertThat(results)
+            .extracting(ItemBatchResult::getStatus)
+            .containsExactly(400, 404, 201);
+    Assertions.assertThat(itemRepository.count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldApplyOperationsBeforeUnreadableOneAndInvalidateCaches() {
+    final Item updated = itemRepository.save(new Item(UUID.randomUUID(), "Old", "Old"));
+    cacheManager.getCache("item").put(updated.getUuid(), updated);
+    final long generation = itemsGeneration.current();
+
+    final Iterator<ItemBatchOperation> operations = List.of(
+            new ItemBatchOperation(ItemBatchOperation.Type.CREATE, null, "First", "First"),
+            new ItemBatchOperation(ItemBatchOperation.Type.UPDATE, updated.getUuid(), "New", "New"),
+            new ItemBatchOperation(ItemBatchOperation.Type.CREATE, null, "Third", "Third")
+    ).iterator();
+
+    final List<ItemBatchResult> results = itemBatchService.apply(new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public ItemBatchOperation next() {
+        if (!operations.hasNext()) {
+          throw new IllegalStateException("Malformed line");
+        }
+        return operations.next();
+      }
+    });
+
+    Assertions.assertThat(results)
+            .extracting(ItemBatchResult::getIndex, ItemBatchResult::getStatus)
+            .containsExactly(
+                    Assertions.tuple(0, 201),
+                    Assertions.tuple(1, 200),
+                    Assertions.tuple(2, 201),
+                    Assertions.tuple(3, 400));
+    Assertions.assertThat(itemRepository.count()).isEqualTo(3);
+    Assertions.assertThat(cacheManager.getCache("item").get(updated.getUuid())).isNull();
+    Assertions.assertThat(itemsGeneration.current()).isGreaterThan(generation);
+  }
+}
@@ -0,0 +1,70 @@
+package hr.vgsoft.primer.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+@DataJpaTest
+class ItemExportServiceSpecification {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private ItemRepository itemRepository;
+
+  private ItemExportService itemExportService;
+
+  private Item item;
+
+  @BeforeEach
+  void setup() {
+    itemExportService = new ItemExportService(
+            itemRepository, entityManager.getEntityManager(), new ObjectMapper());
+
+    item = entityManager.persistFlushFind(
+            new Item(UUID.randomUUID(), "Name, \"quoted\"", "Description"));
+    entityManager.clear();
+  }
+
+  @Test
+  void shouldExportItemsAsNdjson() throws IOException {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    final long count = itemExportService.export(ItemExportFormat.NDJSON, outputStream);
+
+    Assertions.assertThat(count).isEqualTo(1);
+    Assertions.assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "{\"uuid\":\"" + item.getUuid() + "\",\"name\":\"Name, \\\"quoted\\\"\","
+                    + "\"description\":\"Description\",\"version\":0}\n");
+  }
+
+  @Test
+  void shouldExportItemsAsCsv() throws IOException {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    itemExportService.export(ItemExportFormat.CSV, outputStream);
+
+    Assertions.assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+            ItemExportService.CSV_HEADER + "\r\n"
+                    + item.getUuid() + ",\"Name, \"\"quoted\"\"\",Description,0\r\n");
+  }
+
+  @Test
+  void shouldNotKeepExportedItemsInPersistenceContext() throws IOException {
+    itemExportService.export(ItemExportFormat.NDJSON, new ByteArrayOutputStream());
+
+    Assertions.assertThat(entityManager.getEntityManager().unwrap(Session.class)
+            .getStatistics().getEntityCount()).isZero();
+  }
+}
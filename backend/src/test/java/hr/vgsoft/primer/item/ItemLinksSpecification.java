@@ -0,0 +1,40 @@
+package hr.vgsoft.primer.item;
+
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class ItemLinksSpecification {
+
+  @AfterEach
+  void cleanup() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void shouldBuildSameSelfLinkAsLinkBuilder() {
+    final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/primer/api/items");
+    request.setScheme("https");
+    request.setServerName("primer.vgsoft.hr");
+    request.setServerPort(443);
+    request.setContextPath("/primer");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+    final UUID uuid = UUID.randomUUID();
+
+    @SuppressWarnings("ConstantConditions")
+    final String expected = WebMvcLinkBuilder
+            .linkTo(WebMvcLinkBuilder.methodOn(ItemController.class).findItem(uuid, null))
+            .withSelfRel()
+            .getHref();
+
+    Assertions.assertThat(ItemLinks.selfLink(uuid).getHref()).isEqualTo(expected);
+    Assertions.assertThat(ItemLinks.selfLink(uuid).getHref()).isEqualTo(expected);
+  }
+}
@@ -0,0 +1,122 @@
+package hr.vgsoft.primer.item;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+class ItemPageCacheSpecification {
+
+  private static final Sort BY_UUID = Sort.by("uuid");
+  private static final Sort BY_NAME = Sort.by("name");
+
+  private final List<Item> items = IntStream.range(0, 6)
+          .mapToObj(it -> new Item(UUID.randomUUID(), "Item" + it, "Description " + it))
+          .collect(Collectors.toList());
+
+  private final List<Pageable> loaded = new ArrayList<>();
+
+  private int counted;
+
+  private ItemPageCache itemPageCache;
+
+  @BeforeEach
+  void setup() {
+    itemPageCache = new ItemPageCache(
+            new ConcurrentMapCacheManager(), new ItemsGeneration(), Duration.ofMinutes(5));
+  }
+
+  @Test
+  void shouldLoadPageOnlyOnce() {
+    get(PageRequest.of(0, 2, BY_UUID));
+    final Page<Item> page = get(PageRequest.of(0, 2, BY_UUID));
+
+    Assertions.assertThat(loaded).hasSize(1);
+    Assertions.assertThat(page.getContent()).containsExactly(items.get(0), items.get(1));
+    Assertions.assertThat(page.getTotalElements()).isEqualTo(6);
+  }
+
+  @Test
+  void shouldCountOnlyOnceAndKeepTotalCurrent() {
+    getAllPages(BY_UUID);
+
+    itemPageCache.itemInserted();
+    itemPageCache.itemInserted();
+    itemPageCache.itemDeleted(items.get(0).getUuid());
+
+    Assertions.assertThat(get(PageRequest.of(0, 2, BY_UUID)).getTotalElements()).isEqualTo(7);
+    Assertions.assertThat(counted).isEqualTo(1);
+  }
+
+  @Test
+  void shouldEvictOnlyPagesContainingUpdatedItem() {
+    getAllPages(BY_UUID);
+
+    itemPageCache.itemUpdated(items.get(2).getUuid(), Set.of("version", "name"));
+    getAllPages(BY_UUID);
+
+    Assertions.assertThat(loaded).hasSize(4).last().isEqualTo(PageRequest.of(1, 2, BY_UUID));
+  }
+
+  @Test
+  void shouldEvictWholeOrderingSortedByChangedProperty() {
+    getAllPages(BY_NAME);
+
+    itemPageCache.itemUpdated(items.get(2).getUuid(), Set.of("version", "name"));
+    getAllPages(BY_NAME);
+
+    Assertions.assertThat(loaded).hasSize(6);
+  }
+
+  @Test
+  void shouldEvictPagesFromDeletedItemOnward() {
+    getAllPages(BY_UUID);
+
+    itemPageCache.itemDeleted(items.get(2).getUuid());
+    getAllPages(BY_UUID);
+
+    Assertions.assertThat(loaded.subList(3, loaded.size())).containsExactly(
+            PageRequest.of(1, 2, BY_UUID), PageRequest.of(2, 2, BY_UUID));
+  }
+
+  @Test
+  void shouldEvictAllPagesOnInsert() {
+    getAllPages(BY_UUID);
+
+    itemPageCache.itemInserted();
+    getAllPages(BY_UUID);
+
+    Assertions.assertThat(loaded).hasSize(6);
+  }
+
+  private void getAllPages(final Sort sort) {
+    IntStream.range(0, 3).forEach(it -> get(PageRequest.of(it, 2, sort)));
+  }
+
+  private Page<Item> get(final Pageable pageable) {
+    return itemPageCache.get(pageable, this::load, this::count);
+  }
+
+  private List<Item> load(final Pageable pageable) {
+    loaded.add(pageable);
+    final int from = (int) pageable.getOffset();
+    return items.subList(from, Math.min(from + pageable.getPageSize(), items.size()));
+  }
+
+  private long count() {
+    counted++;
+    return items.size();
+  }
+}
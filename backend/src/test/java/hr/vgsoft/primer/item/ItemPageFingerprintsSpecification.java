@@ -0,0 +1,65 @@
+package hr.vgsoft.primer.item;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+class ItemPageFingerprintsSpecification {
+
+  private final Item first = new Item(UUID.randomUUID(), "First", "First description");
+  private final Item second = new Item(UUID.randomUUID(), "Second", "Second description");
+
+  @Test
+  void shouldCalculateSameFingerprintForSamePage() {
+    final Pageable pageable = PageRequest.of(0, 20);
+
+    Assertions.assertThat(ItemPageFingerprints.calculate(
+            new PageImpl<>(List.of(first, second), pageable, 2)))
+            .isEqualTo(ItemPageFingerprints.calculate(
+                    new PageImpl<>(List.of(first, second), pageable, 2)));
+  }
+
+  @Test
+  void shouldChangeFingerprintWhenItemVersionChanges() {
+    final Pageable pageable = PageRequest.of(0, 20);
+    final String before =
+            ItemPageFingerprints.calculate(new PageImpl<>(List.of(first, second), pageable, 2));
+
+    second.setVersion(second.getVersion() + 1);
+
+    Assertions.assertThat(
+            ItemPageFingerprints.calculate(new PageImpl<>(List.of(first, second), pageable, 2)))
+            .isNotEqualTo(before);
+  }
+
+  @Test
+  void shouldChangeFingerprintWhenPageMetadataChanges() {
+    final String firstPage = ItemPageFingerprints.calculate(
+            new PageImpl<>(List.of(first), PageRequest.of(0, 1), 2));
+    final String sameItemsOnOtherPage = ItemPageFingerprints.calculate(
+            new PageImpl<>(List.of(first), PageRequest.of(1, 1), 2));
+
+    Assertions.assertThat(firstPage).isNotEqualTo(sameItemsOnOtherPage);
+  }
+
+  @Test
+  void shouldForgetFingerprintWhenGenerationAdvances() {
+    final ItemsGeneration itemsGeneration = new ItemsGeneration();
+    final ItemPageFingerprints fingerprints = new ItemPageFingerprints(itemsGeneration);
+    final Pageable pageable = PageRequest.of(0, 20);
+
+    final String etag = fingerprints.remember(
+            pageable, itemsGeneration.current(), new PageImpl<>(List.of(first), pageable, 1));
+
+    Assertions.assertThat(fingerprints.lookup(pageable)).contains(etag);
+
+    itemsGeneration.advance(() -> { });
+
+    Assertions.assertThat(fingerprints.lookup(pageable)).isEmpty();
+  }
+}
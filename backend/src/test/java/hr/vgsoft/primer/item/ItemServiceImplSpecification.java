@@ -1,6 +1,10 @@
 package hr.vgsoft.primer.item;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Slice;
 
 @DataJpaTest
 class ItemServiceImplSpecification {
@@ -22,7 +28,13 @@ class ItemServiceImplSpecification {
 
   @BeforeEach
   void setup() {
-    itemService = new ItemServiceImpl(itemRepository);
+    final ItemsGeneration itemsGeneration = new ItemsGeneration();
+    itemService = new ItemServiceImpl(itemRepository,
+            new ItemPageCache(
+                    new ConcurrentMapCacheManager(), itemsGeneration, Duration.ofMinutes(5)),
+            new InMemoryItemSearch(
+                    itemRepository, itemsGeneration, entityManager.getEntityManager()),
+            entityManager.getEntityManager());
   }
 
   @Test
@@ -38,4 +50,65 @@ class ItemServiceImplSpecification {
     Assertions.assertThat(queriedItem.isPresent()).isTrue();
     Assertions.assertThat(savedItem).isEqualTo(queriedItem.get());
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldWalkAllItemsWithCursor() {
+    List.of("C", "A", "B", "B", "D").forEach(it ->
+            entityManager.persist(new Item(UUID.randomUUID(), it, "Description " + it)));
+
+    final List<String> names = new ArrayList<>();
+    ItemCursor cursor = null;
+    Slice<Item> slice;
+    do {
+      slice = itemService.findAllAfter(cursor, 2);
+      slice.forEach(it -> names.add(it.getName()));
+      cursor = slice.hasContent()
+              ? ItemCursor.of(slice.getContent().get(slice.getNumberOfElements() - 1))
+              : null;
+    } while (slice.hasNext());
+
+    Assertions.assertThat(names).containsExactly("A", "B", "B", "C", "D");
+  }
+
+  @Test
+  void shouldDecodeEncodedCursor() {
+    final ItemCursor cursor = new ItemCursor("Name with / and ?", UUID.randomUUID());
+
+    Assertions.assertThat(ItemCursor.decode(cursor.encode())).isEqualTo(cursor);
+  }
+
+  @Test
+  void shouldUpdateItemOnlyIfItHasExpectedVersion() {
+    final Item item = entityManager.persistFlushFind(
+            new Item(UUID.randomUUID(), "Name", "Description"));
+    entityManager.clear();
+
+    final int version = itemService.updateItemIfVersion(
+            item.getUuid(), new NewItemModel("Changed", "Changed description"), 0);
+
+    Assertions.assertThat(version).isEqualTo(1);
+    Assertions.assertThat(itemRepository.findById(item.getUuid())).hasValueSatisfying(it -> {
+      Assertions.assertThat(it.getName()).isEqualTo("Changed");
+      Assertions.assertThat(it.getVersion()).isEqualTo(1);
+    });
+    Assertions.assertThatThrownBy(() -> itemService.updateItemIfVersion(
+            item.getUuid(), new NewItemModel("Lost", "Lost update"), 0))
+            .isInstanceOf(ItemVersionMismatchException.class);
+  }
+
+  @Test
+  void shouldDeleteItemOnlyIfItHasExpectedVersion() {
+    final Item item = entityManager.persistFlushFind(
+            new Item(UUID.randomUUID(), "Name", "Description"));
+    entityManager.clear();
+
+    Assertions.assertThatThrownBy(() -> itemService.deleteItemIfVersion(item.getUuid(), 1))
+            .isInstanceOf(ItemVersionMismatchException.class);
+
+    itemService.deleteItemIfVersion(item.getUuid(), 0);
+
+    Assertions.assertThat(itemRepository.existsById(item.getUuid())).isFalse();
+    Assertions.assertThatThrownBy(() -> itemService.deleteItemIfVersion(item.getUuid(), 0))
+            .isInstanceOf(ItemNotFoundException.class);
+  }
+}
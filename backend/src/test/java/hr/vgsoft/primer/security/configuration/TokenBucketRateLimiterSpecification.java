@@ -0,0 +1,39 @@
+package hr.vgsoft.primer.security.configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterSpecification {
+
+  private final AtomicLong now = new AtomicLong(1000);
+
+  private final TokenBucketRateLimiter limiter =
+          new TokenBucketRateLimiter(60, 3, 100, now::get);
+
+  @Test
+  void shouldAllowBurstAndThenOnePermitPerInterval() {
+    for (int i = 0; i < 3; i++) {
+      Assertions.assertThat(limiter.tryAcquire("key")).isZero();
+    }
+
+    Assertions.assertThat(limiter.tryAcquire("key")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+    Assertions.assertThat(limiter.tryAcquire("key")).isZero();
+    Assertions.assertThat(limiter.tryAcquire("key")).isPositive();
+  }
+
+  @Test
+  void shouldKeepSeparateBucketForEveryKey() {
+    for (int i = 0; i < 3; i++) {
+      limiter.tryAcquire("first");
+    }
+
+    Assertions.assertThat(limiter.tryAcquire("first")).isPositive();
+    Assertions.assertThat(limiter.tryAcquire("second")).isZero();
+  }
+}
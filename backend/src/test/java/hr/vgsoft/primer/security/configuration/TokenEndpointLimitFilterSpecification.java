@@ -0,0 +1,95 @@
+package hr.vgsoft.primer.security.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class TokenEndpointLimitFilterSpecification {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void shouldRejectPasswordGrantsForSameUsernameAfterBurst() throws Exception {
+    final LoginLimitProperties properties = new LoginLimitProperties();
+    properties.setPrincipalBurst(2);
+    final TokenEndpointLimitFilter filter =
+            new TokenEndpointLimitFilter(properties, meterRegistry);
+
+    Assertions.assertThat(passwordGrant(filter, "Una@test.com").getStatus()).isEqualTo(200);
+    Assertions.assertThat(passwordGrant(filter, "una@test.com").getStatus()).isEqualTo(200);
+
+    final MockHttpServletResponse rejected = passwordGrant(filter, "una@test.com");
+    Assertions.assertThat(rejected.getStatus()).isEqualTo(429);
+    Assertions.assertThat(rejected.getHeader("Retry-After")).isNotNull();
+    Assertions.assertThat(rejected.getContentAsString())
+            .contains("\"error\":\"too_many_requests\"");
+    Assertions.assertThat(passwordGrant(filter, "theon@test.com").getStatus()).isEqualTo(200);
+
+    Assertions.assertThat(meterRegistry.get("login.limit.rejected")
+            .tag("reason", "principal").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldRejectPasswordGrantWhenAllVerificationsAreInProgress() throws Exception {
+    final LoginLimitProperties properties = new LoginLimitProperties();
+    properties.setMaxConcurrentVerifications(1);
+    final TokenEndpointLimitFilter filter =
+            new TokenEndpointLimitFilter(properties, meterRegistry);
+
+    final CountDownLatch verifying = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<?> first = executor.submit(() -> {
+        filter.doFilter(passwordGrantRequest("una@test.com"), new MockHttpServletResponse(),
+                (request, response) -> {
+                  verifying.countDown();
+                  try {
+                    release.await();
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                  }
+                });
+        return null;
+      });
+      verifying.await();
+
+      final MockHttpServletResponse rejected = passwordGrant(filter, "theon@test.com");
+      Assertions.assertThat(rejected.getStatus()).isEqualTo(503);
+      Assertions.assertThat(rejected.getContentAsString())
+              .contains("\"error\":\"temporarily_unavailable\"");
+      Assertions.assertThat(meterRegistry.get("login.verifications.active").gauge().value())
+              .isEqualTo(1);
+
+      release.countDown();
+      first.get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Assertions.assertThat(passwordGrant(filter, "theon@test.com").getStatus()).isEqualTo(200);
+  }
+
+  private static MockHttpServletResponse passwordGrant(
+          final TokenEndpointLimitFilter filter, final String username) throws Exception {
+    final MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(passwordGrantRequest(username), response, new MockFilterChain());
+    return response;
+  }
+
+  private static MockHttpServletRequest passwordGrantRequest(final String username) {
+    final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/oauth/token");
+    request.setParameter("grant_type", TokenEndpointLimitFilter.PASSWORD_GRANT);
+    request.setParameter("username", username);
+    return request;
+  }
+}
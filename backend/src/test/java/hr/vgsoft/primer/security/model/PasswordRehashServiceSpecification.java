@@ -0,0 +1,86 @@
+package hr.vgsoft.primer.security.model;
+
+import hr.vgsoft.primer.security.configuration.PasswordEncoderConfig;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@DataJpaTest
+class PasswordRehashServiceSpecification {
+
+  private static final String EMAIL = "rehash@test.com";
+  private static final String PASSWORD = "password";
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private final PasswordEncoder passwordEncoder = new PasswordEncoderConfig().passwordEncoder(5);
+
+  private PasswordRehashService passwordRehashService;
+
+  @BeforeEach
+  void setup() {
+    passwordRehashService = new PasswordRehashService(
+            userRepository, passwordEncoder, transactionManager, 5, true);
+  }
+
+  @Test
+  void shouldRehashOnlyPasswordsWithOtherEncodingOrStrength() {
+    Assertions.assertThat(passwordRehashService.needsRehash(passwordEncoder.encode(PASSWORD)))
+            .isFalse();
+    Assertions.assertThat(passwordRehashService.needsRehash(
+            new PasswordEncoderConfig().passwordEncoder(4).encode(PASSWORD))).isTrue();
+    Assertions.assertThat(passwordRehashService.needsRehash("{noop}" + PASSWORD)).isTrue();
+  }
+
+  @Test
+  void shouldStoreNewHashOfPassword() {
+    final String stronger = new PasswordEncoderConfig().passwordEncoder(6).encode(PASSWORD);
+    final User user = User.builder()
+            .email(EMAIL)
+            .password(stronger)
+            .firstName("Rehash")
+            .lastName("User")
+            .enabled(Boolean.TRUE)
+            .locked(Boolean.FALSE)
+            .build();
+    entityManager.persistAndFlush(user);
+
+    passwordRehashService.rehash(EMAIL, PASSWORD, stronger);
+
+    final String stored = userRepository.findByEmail(EMAIL).get().getPassword();
+    Assertions.assertThat(stored).isNotEqualTo(stronger);
+    Assertions.assertThat(passwordRehashService.needsRehash(stored)).isFalse();
+    Assertions.assertThat(passwordEncoder.matches(PASSWORD, stored)).isTrue();
+  }
+
+  @Test
+  void shouldNotOverwriteChangedPassword() {
+    final User user = User.builder()
+            .email(EMAIL)
+            .password("{noop}changed")
+            .firstName("Rehash")
+            .lastName("User")
+            .enabled(Boolean.TRUE)
+            .locked(Boolean.FALSE)
+            .build();
+    entityManager.persistAndFlush(user);
+
+    passwordRehashService.rehash(EMAIL, PASSWORD, "{noop}" + PASSWORD);
+
+    Assertions.assertThat(userRepository.findByEmail(EMAIL).get().getPassword())
+            .isEqualTo("{noop}changed");
+  }
+}
@@ -0,0 +1,91 @@
+package hr.vgsoft.primer.security.model;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetails;
+
+@DataJpaTest
+@Import(UserDetailsCacheEvictionListener.class)
+class UserServiceImplSpecification {
+
+  private static final String EMAIL = "cached@test.com";
+
+  @TestConfiguration
+  static class CacheTestConfiguration {
+    @Bean
+    CacheManager cacheManager() {
+      return new ConcurrentMapCacheManager();
+    }
+  }
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  private UserServiceImpl userService;
+
+  private User user;
+
+  @BeforeEach
+  void setup() {
+    userService = new UserServiceImpl(userRepository, cacheManager);
+
+    final Authority authority = entityManager.persist(
+            Authority.builder().name(UserAuthorityEnum.ROLE_USER.name()).build());
+
+    user = User.builder()
+            .email(EMAIL)
+            .password("{noop}password")
+            .firstName("Cached")
+            .lastName("User")
+            .addAuthority(authority)
+            .build();
+    user.enable();
+    user.unlock();
+    user = entityManager.persistAndFlush(user);
+  }
+
+  @Test
+  void shouldCacheUserDetails() {
+    final UserDetails first = userService.loadUserByUsername(EMAIL);
+
+    Assertions.assertThat(cacheManager.getCache(UserServiceImpl.USER_DETAILS_CACHE).get(EMAIL))
+            .isNotNull();
+    Assertions.assertThat(userService.loadUserByUsername(EMAIL)).isEqualTo(first)
+            .isNotSameAs(first);
+  }
+
+  @Test
+  void shouldEvictUserDetailsWhenUserIsLocked() {
+    Assertions.assertThat(userService.loadUserByUsername(EMAIL).isAccountNonLocked()).isTrue();
+
+    user.lock();
+    entityManager.flush();
+
+    Assertions.assertThat(userService.loadUserByUsername(EMAIL).isAccountNonLocked()).isFalse();
+  }
+
+  @Test
+  void shouldEvictUserDetailsWhenAuthorityIsRemoved() {
+    Assertions.assertThat(userService.loadUserByUsername(EMAIL).getAuthorities()).hasSize(1);
+
+    user.removeAuthority(user.getAuthority(UserAuthorityEnum.ROLE_USER).get());
+    entityManager.flush();
+
+    Assertions.assertThat(userService.loadUserByUsername(EMAIL).getAuthorities()).isEmpty();
+  }
+}
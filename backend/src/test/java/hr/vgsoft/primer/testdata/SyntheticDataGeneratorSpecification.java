@@ -0,0 +1,98 @@
+package hr.vgsoft.primer.testdata;
+
+import hr.vgsoft.primer.item.ItemPageCache;
+import hr.vgsoft.primer.item.ItemsGeneration;
+import hr.vgsoft.primer.security.model.AuthorityRepository;
+import java.time.Duration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SyntheticDataGeneratorSpecification {
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private AuthorityRepository authorityRepository;
+
+  private ItemsGeneration itemsGeneration;
+  private SyntheticDataGenerator generator;
+
+  @BeforeEach
+  void setup() {
+    final SyntheticDataProperties properties = new SyntheticDataProperties();
+    properties.setItems(2500);
+    properties.setUsers(30);
+    properties.setBatchSize(1000);
+
+    itemsGeneration = new ItemsGeneration();
+    generator = new SyntheticDataGenerator(properties, jdbcTemplate, transactionManager,
+            authorityRepository, new BCryptPasswordEncoder(4),
+            new ItemPageCache(new ConcurrentMapCacheManager(), itemsGeneration,
+                    Duration.ofMinutes(5)));
+  }
+
+  @AfterEach
+  void cleanup() {
+    jdbcTemplate.update("DELETE FROM user_authorities");
+    jdbcTemplate.update("DELETE FROM users");
+    jdbcTemplate.update("DELETE FROM items");
+    authorityRepository.deleteAll();
+  }
+
+  @Test
+  void shouldInsertItemsWithNamesThatFitColumn() {
+    final long generation = itemsGeneration.current();
+
+    generator.generate();
+
+    Assertions.assertThat(count("SELECT COUNT(*) FROM items")).isEqualTo(2500);
+    Assertions.assertThat(count("SELECT MIN(LENGTH(name)) FROM items")).isPositive();
+    Assertions.assertThat(count("SELECT MAX(LENGTH(name)) FROM items"))
+            .isLessThanOrEqualTo(SyntheticText.MAX_LENGTH);
+    Assertions.assertThat(count("SELECT MAX(LENGTH(description)) FROM items"))
+            .isLessThanOrEqualTo(SyntheticText.MAX_LENGTH);
+    Assertions.assertThat(itemsGeneration.current()).isGreaterThan(generation);
+  }
+
+  @Test
+  void shouldInsertUsersWithRoleUser() {
+    generator.generate();
+
+    Assertions.assertThat(count("SELECT COUNT(*) FROM users")).isEqualTo(30);
+    Assertions.assertThat(count("SELECT COUNT(DISTINCT password) FROM users")).isEqualTo(1);
+    Assertions.assertThat(count("SELECT COUNT(*) FROM user_authorities ua "
+            + "JOIN authorities a ON a.authority_id = ua.authority_id "
+            + "WHERE a.name = 'ROLE_USER'"))
+            .isEqualTo(30);
+  }
+
+  @Test
+  void shouldGenerateOnlyOnce() {
+    generator.generate();
+    generator.generate();
+
+    Assertions.assertThat(count("SELECT COUNT(*) FROM items")).isEqualTo(2500);
+    Assertions.assertThat(count("SELECT COUNT(*) FROM users")).isEqualTo(30);
+  }
+
+  private long count(final String sql) {
+    return jdbcTemplate.queryForObject(sql, Long.class);
+  }
+}
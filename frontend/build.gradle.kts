@@ -1,3 +1,6 @@
+import java.security.MessageDigest
+import java.util.zip.GZIPOutputStream
+
 /**
  * Builds js output by compiling ELM sources
  */
@@ -27,9 +30,44 @@ tasks.register<Delete>("cleanElmLive") {
     delete.add("$projectDir/src/elm.js")
 }
 
-tasks.register<Copy>("copyIndexHtml") {
-    from("src/index.html")
-    into("$projectDir/build/")
+/**
+ * Prepares compiled ELM app for serving. Index.html references elm.js by md5 of its content,
+ * same name that backend resolves with content version strategy, so elm.js can be cached forever.
+ * Gzip and brotli variants of elm.js are served to clients that accept them.
+ */
+tasks.register("packageElmApp") {
+    description = "Adds content hash to elm.js reference and compresses elm.js"
+    group = "build"
+
+    val elmMake by tasks.getting
+
+    val jsPath = "$projectDir/build/elm.js"
+    val distDir = "$projectDir/build/dist"
+
+    inputs.file(jsPath)
+    inputs.file("src/index.html")
+    outputs.dir(distDir)
+
+    dependsOn(elmMake)
+
+    doLast {
+        delete(distDir)
+        mkdir(distDir)
+
+        val js = file(jsPath).readBytes()
+        val hash = MessageDigest.getInstance("MD5").digest(js)
+                .joinToString("") { "%02x".format(it) }
+
+        file("$distDir/elm.js").writeBytes(js)
+        file("$distDir/index.html").writeText(file("src/index.html").readText()
+                .replace("src=\"elm.js\"", "src=\"elm-$hash.js\""))
+
+        GZIPOutputStream(file("$distDir/elm.js.gz").outputStream()).use { it.write(js) }
+        exec {
+            commandLine = listOf("brotli", "--best", "--output=$distDir/elm.js.br",
+                    "$distDir/elm.js")
+        }
+    }
 }
 
 tasks.register<Delete>("clean") {
@@ -40,15 +78,14 @@ tasks.register<Delete>("clean") {
 }
 
 tasks.register<Copy>("copyElmApp") {
-    val copyIndexHtml by tasks.getting
+    val packageElmApp by tasks.getting
 
     val processResources by project(":backend").tasks.existing(ProcessResources::class)
 
-    from(copyIndexHtml.outputs)
+    from(packageElmApp.outputs)
     into(processResources.get().destinationDir.toString() + "/public")
 
-    dependsOn(":frontend:elmMake")
-    dependsOn(":frontend:copyIndexHtml")
+    dependsOn(":frontend:packageElmApp")
 }
 
 project(":backend") {